@@ -0,0 +1,80 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.data.XYChartItem;
+import com.chainstaysoftware.polarplot.series.PolarSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full geometry rebuild of a frame, one series after another and on the
+ * common ForkJoinPool. "50x4000" is the overlay case of many independent
+ * series, "1x400000" a single long series that is split by segment.
+ * Frames alternate between two pixel steps so every invocation rebuilds
+ * every curve.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeometryPreparerBenchmark {
+   @Param({ "50x4000", "1x400000" })
+   public String series;
+
+   @Param({ "SEQUENTIAL", "COMMON_POOL" })
+   public String pool;
+
+   private final GeometryPreparer preparer = new GeometryPreparer();
+   private final FrameGeometry target = new FrameGeometry();
+   private FrameSnapshot[] frames;
+   private int frame;
+
+   @Setup
+   public void setUp() {
+      final String[] dimensions = series.split("x");
+      final int noOfSeries = Integer.parseInt(dimensions[0]);
+      final int noOfItems = Integer.parseInt(dimensions[1]);
+
+      final List<SeriesSnapshot> snapshots = new ArrayList<>(noOfSeries);
+      for (int k = 0; k < noOfSeries; k++) {
+         final double[] thetas = new double[noOfItems];
+         final double[] rs = new double[noOfItems];
+         for (int i = 0; i < noOfItems; i++) {
+            thetas[i] = 360.0 * i / noOfItems;
+            rs[i] = 50 + 20 * Math.sin(i * 0.01 + k);
+         }
+         final var polarSeries = new PolarSeries<XYChartItem>(thetas, rs, ChartType.INTERPOLATE_POLAR);
+         snapshots.add(SeriesSnapshot.take(polarSeries, -1, false, true));
+      }
+
+      final var layout = new FrameSnapshot.Layout(500, 500, 0, 100, 450, 0);
+      frames = new FrameSnapshot[] {
+         new FrameSnapshot(layout, 0.5, TrigTable.DEGREE, false, snapshots),
+         new FrameSnapshot(layout, 0.51, TrigTable.DEGREE, false, snapshots)
+      };
+      preparer.setPool("COMMON_POOL".equals(pool) ? ForkJoinPool.commonPool() : null);
+   }
+
+   @Benchmark
+   public FrameGeometry prepare() {
+      frame ^= 1;
+      preparer.prepare(frames[frame], target);
+      return target;
+   }
+}
@@ -0,0 +1,62 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transform of a 100k vertex series with the sin/cos table, with plain
+ * Math.sin/Math.cos and with the SIMD kernel, for vertices on and off the
+ * 1 degree grid. VECTOR needs --add-modules jdk.incubator.vector, which the
+ * jmh task passes to the forked VM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PolarTransformBenchmark {
+   private static final int NO_OF_POINTS = 100_000;
+
+   @Param({ "TABLE", "MATH", "VECTOR" })
+   public String kernel;
+
+   @Param({ "true", "false" })
+   public boolean onGrid;
+
+   private final PointBuffer source = new PointBuffer(NO_OF_POINTS);
+   private final PointBuffer target = new PointBuffer(NO_OF_POINTS);
+   private final PolarTransform transform = new PolarTransform();
+
+   @Setup
+   public void setUp() {
+      final double fraction = onGrid ? 0 : 0.37;
+      for (int i = 0; i < NO_OF_POINTS; i++) {
+         source.add((i % 360) + fraction, 50 + (i % 7));
+      }
+      transform.set(500, 500, 0, 100, 450, 0);
+      transform.setTrigTable("TABLE".equals(kernel) ? TrigTable.DEGREE : null);
+      transform.setVectorized("VECTOR".equals(kernel));
+      if ("VECTOR".equals(kernel) && !transform.isVectorized()) {
+         throw new IllegalStateException("jdk.incubator.vector is not available");
+      }
+   }
+
+   @Benchmark
+   public PointBuffer toScreen() {
+      transform.toScreen(source, false, target);
+      return target;
+   }
+}
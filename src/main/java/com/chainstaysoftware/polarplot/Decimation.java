@@ -0,0 +1,22 @@
+package com.chainstaysoftware.polarplot;
+
+/**
+ * How XYPane thins out the on-screen polyline of a series before stroking it.
+ */
+public enum Decimation {
+   /**
+    * Every interpolated vertex is drawn.
+    */
+   NONE,
+   /**
+    * Vertices are grouped into angular bins one pixel of arc wide at the outer
+    * ring. Of each bin the first, the innermost, the outermost and the last
+    * vertex are kept, so the radial envelope is preserved exactly.
+    */
+   MIN_MAX,
+   /**
+    * Largest-Triangle-Three-Buckets in screen space, keeping about two vertices
+    * per pixel of arc at the outer ring.
+    */
+   LTTB
+}
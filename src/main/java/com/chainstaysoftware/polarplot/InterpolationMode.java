@@ -0,0 +1,17 @@
+package com.chainstaysoftware.polarplot;
+
+/**
+ * How densely XYPane samples the interpolated curve between two series items.
+ */
+public enum InterpolationMode {
+   /**
+    * One sample per degree (or per Math.toRadians(1) for radian series),
+    * independent of the plot size.
+    */
+   FIXED_STEP,
+   /**
+    * Samples spaced by a target on-screen distance in pixels, so the number of
+    * vertices follows the size the plot is drawn at.
+    */
+   PIXEL_ADAPTIVE
+}
@@ -17,6 +17,7 @@
 package com.chainstaysoftware.polarplot;
 
 import com.chainstaysoftware.polarplot.data.XYItem;
+import com.chainstaysoftware.polarplot.font.Fonts;
 import javafx.beans.property.StringProperty;
 import javafx.beans.property.StringPropertyBase;
 import javafx.collections.ObservableList;
@@ -24,6 +25,7 @@ import javafx.scene.Node;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.Region;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 
 
@@ -144,6 +146,13 @@ public class PolarPlot<T extends XYItem> extends Region {
         xyPane.setMouseMovePolarCoordinatesConsumer(consumer);
     }
 
+    /**
+     * Starts loading the fonts used by the plot in the background. Call it
+     * early, e.g. in Application.init(), so that showing the first plot does
+     * not wait for font parsing on the FX application thread.
+     */
+    public static CompletableFuture<Void> warmUpFonts() { return Fonts.warmUp(); }
+
     // ******************** Resizing ******************************************
     private void resize() {
         width  = getWidth() - getInsets().getLeft() - getInsets().getRight();
@@ -0,0 +1,22 @@
+package com.chainstaysoftware.polarplot;
+
+/**
+ * How XYPane draws the symbols of series points.
+ */
+public enum SymbolRendering {
+   /**
+    * Every symbol is drawn as vector shapes, one after the other.
+    */
+   DIRECT,
+   /**
+    * Every distinct symbol is rasterized once into an image that is then
+    * blitted for each point. Fastest for many points, but symbols are bitmaps.
+    */
+   SPRITE,
+   /**
+    * Symbols of a series are collected into one path per (symbol, fill,
+    * stroke) and filled and stroked once. Keeps vector quality, e.g. for
+    * exports, without per point graphics state changes.
+    */
+   BATCH
+}
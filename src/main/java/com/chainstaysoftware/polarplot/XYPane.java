@@ -16,14 +16,23 @@
 
 package com.chainstaysoftware.polarplot;
 
-import com.chainstaysoftware.polarplot.data.XYChartItem;
 import com.chainstaysoftware.polarplot.data.XYItem;
+import com.chainstaysoftware.polarplot.event.SeriesEventListener;
 import com.chainstaysoftware.polarplot.font.Fonts;
 import com.chainstaysoftware.polarplot.series.XYSeries;
-import com.chainstaysoftware.polarplot.tools.FormatAngle;
 import com.chainstaysoftware.polarplot.tools.Helper;
-import com.chainstaysoftware.polarplot.tools.Interpolator;
-import com.chainstaysoftware.polarplot.tools.Point;
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+import com.chainstaysoftware.polarplot.tools.SymbolSpriteCache;
+import com.chainstaysoftware.polarplot.transform.FrameGeometry;
+import com.chainstaysoftware.polarplot.transform.FrameSnapshot;
+import com.chainstaysoftware.polarplot.transform.GeometryPreparer;
+import com.chainstaysoftware.polarplot.transform.GridGeometry;
+import com.chainstaysoftware.polarplot.transform.PolarTransform;
+import com.chainstaysoftware.polarplot.transform.SeriesGeometry;
+import com.chainstaysoftware.polarplot.transform.SeriesSnapshot;
+import com.chainstaysoftware.polarplot.transform.TrigTable;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.DoubleProperty;
@@ -33,11 +42,14 @@ import javafx.beans.property.ListPropertyBase;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.VPos;
 import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.CycleMethod;
@@ -46,10 +58,20 @@ import javafx.scene.paint.RadialGradient;
 import javafx.scene.shape.StrokeLineJoin;
 import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
+import javafx.stage.Window;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
 
@@ -65,16 +87,27 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
    private static final double MAXIMUM_HEIGHT = 4096;
    private static final double MIN_SYMBOL_SIZE = 2;
    private static final double MAX_SYMBOL_SIZE = 6;
+   public static final double MIN_INTERPOLATION_PIXEL_STEP = 0.5;
    private static double aspectRatio;
-   private final List<XYSeries<T>> listOfSeries;
+   private final ObservableList<XYSeries<T>> listOfSeries;
    private final boolean keepAspect;
    private double size;
    private double width;
    private double height;
    private Paint _chartBackground;
    private ObjectProperty<Paint> chartBackground;
-   private Canvas canvas;
-   private GraphicsContext ctx;
+   private Canvas gridCanvas;
+   private GraphicsContext gridCtx;
+   private Canvas dataCanvas;
+   private GraphicsContext dataCtx;
+   private boolean gridUsesRadians;
+   private AnimationTimer redrawTimer;
+   private final AtomicBoolean redrawScheduled = new AtomicBoolean();
+   // set from any thread, taken with getAndSet(false) so no invalidation is lost
+   private final AtomicBoolean gridDirty = new AtomicBoolean();
+   private final AtomicBoolean dataDirty = new AtomicBoolean();
+   private final AtomicLong redrawCount = new AtomicLong();
+   private final AtomicLong coalescedRedrawCount = new AtomicLong();
    private double scaleX;
    private double scaleY;
    private double symbolSize;
@@ -98,7 +131,40 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
    private ListProperty<Double> polarYRingValues;
    private PolarTickStep _polarTickStep;
    private ObjectProperty<PolarTickStep> polarTickStep;
+   private InterpolationMode _interpolationMode;
+   private ObjectProperty<InterpolationMode> interpolationMode;
+   private double _interpolationPixelStep;
+   private DoubleProperty interpolationPixelStep;
+   private SymbolRendering _symbolRendering;
+   private ObjectProperty<SymbolRendering> symbolRendering;
+   private final SymbolSpriteCache spriteCache = new SymbolSpriteCache();
    private BiConsumer<Double, Double> coordinateConsumer;
+   private final GeometryPreparer preparer = new GeometryPreparer();
+   // version each series was last snapshotted at, the base of its next snapshot
+   private final Map<XYSeries<T>, Long> snapshotVersions = new WeakHashMap<>();
+   private TrigTable trigTable = TrigTable.DEGREE;
+   private boolean vectorTransform = PolarTransform.isVectorAvailable();
+   // geometry being drawn, and the one the next frame is prepared into
+   private FrameGeometry frontGeometry = new FrameGeometry();
+   private FrameGeometry backGeometry = new FrameGeometry();
+   private Executor geometryExecutor;
+   private boolean frameInFlight;
+   private boolean framePending;
+   private final AtomicReference<FrameGeometry> preparedFrame = new AtomicReference<>();
+   private volatile RuntimeException frameFailure;
+   private final AtomicLong droppedFrameCount = new AtomicLong();
+   // min/max over all series, valid until a series or the list of series changes
+   private boolean dataBoundsValid;
+   private double dataMinX;
+   private double dataMaxX;
+   private double dataMinY;
+   private double dataMaxY;
+   private final GridGeometry gridGeometry = new GridGeometry();
+   // registered with every series in listOfSeries
+   private final SeriesEventListener seriesEventListener = seriesEvent -> {
+      dataBoundsValid = false;
+      scheduleDataRedraw();
+   };
 
 
    // ******************** Constructors **************************************
@@ -129,6 +195,9 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
       _thresholdYVisible = false;
       _thresholdYColor = Color.RED;
       _polarTickStep = PolarTickStep.FOURTY_FIVE;
+      _interpolationMode = InterpolationMode.FIXED_STEP;
+      _interpolationPixelStep = 2;
+      _symbolRendering = SymbolRendering.DIRECT;
 
       initGraphics();
       registerListeners();
@@ -148,16 +217,22 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
 
       getStyleClass().setAll("chart", "xy-chart");
 
-      canvas = new Canvas(PREFERRED_WIDTH, PREFERRED_HEIGHT);
-      ctx = canvas.getGraphicsContext2D();
+      // The polar grid only changes on resize or when the bounds, tick step or
+      // ring values change, so it is kept on its own canvas underneath the
+      // series data. Series events only repaint the data canvas.
+      gridCanvas = new Canvas(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+      gridCtx = gridCanvas.getGraphicsContext2D();
 
-      canvas.setOnMouseMoved(event -> {
+      dataCanvas = new Canvas(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+      dataCtx = dataCanvas.getGraphicsContext2D();
+
+      dataCanvas.setOnMouseMoved(event -> {
          if (coordinateConsumer == null) {
             return;
          }
 
-         final var xCenter = canvas.getWidth() * .5;
-         final var yCenter = canvas.getHeight() * .5;
+         final var xCenter = dataCanvas.getWidth() * .5;
+         final var yCenter = dataCanvas.getHeight() * .5;
          final var radius = (width * .9) * .5;
          final var x = event.getX() - xCenter;
          final var y = event.getY() - yCenter;
@@ -172,15 +247,56 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
          }
       });
 
-      getChildren().setAll(canvas);
+      getChildren().setAll(gridCanvas, dataCanvas);
+
+      // Invalidations only mark the layers dirty, the timer repaints them
+      // once on the next pulse and stops itself again.
+      redrawTimer = new AnimationTimer() {
+         @Override
+         public void handle(final long now) {
+            stop();
+            redrawScheduled.set(false);
+            // samples pushed from other threads land in their series first and
+            // old ones expire, the data this changes is drawn on this pulse.
+            // A series can ask for the next pulse from here.
+            listOfSeries.forEach(XYSeries::beforeFrame);
+            final boolean grid = gridDirty.getAndSet(false);
+            final boolean data = dataDirty.getAndSet(false);
+            if (grid) {
+               drawGrid();
+            }
+            final FrameGeometry prepared = preparedFrame.getAndSet(null);
+            if (null != prepared) {
+               presentFrame(prepared);
+            }
+            if (grid || data || framePending) {
+               framePending = false;
+               drawData();
+            }
+         }
+      };
    }
 
    private void registerListeners() {
       widthProperty().addListener(o -> resize());
       heightProperty().addListener(o -> resize());
 
-      listOfSeries.forEach(series -> series.setOnSeriesEvent(seriesEvent -> redraw()));
-      canvas.setOnMouseClicked(e -> {
+      listOfSeries.forEach(series -> series.setOnSeriesEvent(seriesEventListener));
+      listOfSeries.forEach(series -> series.setOnFrameRequest(this::scheduleRedraw));
+      listOfSeries.addListener((ListChangeListener<XYSeries<T>>) change -> {
+         dataBoundsValid = false;
+         while (change.next()) {
+            change.getRemoved().forEach(series -> {
+               series.removeSeriesEventListener(seriesEventListener);
+               series.setOnFrameRequest(null);
+            });
+            change.getAddedSubList().forEach(series -> {
+               series.setOnSeriesEvent(seriesEventListener);
+               series.setOnFrameRequest(this::scheduleRedraw);
+            });
+         }
+      });
+      dataCanvas.setOnMouseClicked(e -> {
          final double LOWER_BOUND_X = getLowerBoundX();
          final double LOWER_BOUND_Y = getLowerBoundY();
          double x = (e.getX() - LOWER_BOUND_X) * scaleX;
@@ -428,19 +544,51 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
    }
 
    public double getDataMinX() {
-      return listOfSeries.stream().mapToDouble(XYSeries::getMinX).min().getAsDouble();
+      updateDataBounds();
+      return dataMinX;
    }
 
    public double getDataMaxX() {
-      return listOfSeries.stream().mapToDouble(XYSeries::getMaxX).max().getAsDouble();
+      updateDataBounds();
+      return dataMaxX;
    }
 
    public double getDataMinY() {
-      return listOfSeries.stream().mapToDouble(XYSeries::getMinY).min().getAsDouble();
+      updateDataBounds();
+      return dataMinY;
    }
 
    public double getDataMaxY() {
-      return listOfSeries.stream().mapToDouble(XYSeries::getMaxY).max().getAsDouble();
+      updateDataBounds();
+      return dataMaxY;
+   }
+
+   /**
+    * Recomputes the data bounds if a series changed since the last call. Each
+    * series keeps its own statistics, so this is O(number of series).
+    */
+   private void updateDataBounds() {
+      if (dataBoundsValid) {
+         return;
+      }
+      if (listOfSeries.isEmpty()) {
+         throw new NoSuchElementException();
+      }
+      double minX = Double.POSITIVE_INFINITY;
+      double maxX = Double.NEGATIVE_INFINITY;
+      double minY = Double.POSITIVE_INFINITY;
+      double maxY = Double.NEGATIVE_INFINITY;
+      for (XYSeries<T> series : listOfSeries) {
+         minX = Math.min(minX, series.getMinX());
+         maxX = Math.max(maxX, series.getMaxX());
+         minY = Math.min(minY, series.getMinY());
+         maxY = Math.max(maxY, series.getMaxY());
+      }
+      dataMinX = minX;
+      dataMaxX = maxX;
+      dataMinY = minY;
+      dataMaxY = maxY;
+      dataBoundsValid = true;
    }
 
    public double getDataRangeX() {
@@ -570,7 +718,7 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
    public void setYPolarRingValues(final List<Double> values) {
       if (null == polarYRingValues) {
          _polarYRingValues = List.copyOf(values);
-         drawChart();
+         scheduleGridRedraw();
       } else {
          polarYRingValues.get().setAll(values);
       }
@@ -581,7 +729,7 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
          polarYRingValues = new ListPropertyBase<Double>() {
             @Override
             protected void invalidated() {
-               drawChart();
+               scheduleGridRedraw();
             }
 
             @Override
@@ -607,7 +755,7 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
    public void setPolarTickStep(final PolarTickStep STEP) {
       if (null == polarTickStep) {
          _polarTickStep = STEP;
-         drawChart();
+         scheduleGridRedraw();
       } else {
          polarTickStep.set(STEP);
       }
@@ -618,7 +766,7 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
          polarTickStep = new ObjectPropertyBase<PolarTickStep>() {
             @Override
             protected void invalidated() {
-               drawChart();
+               scheduleGridRedraw();
             }
 
             @Override
@@ -636,6 +784,187 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
       return polarTickStep;
    }
 
+   public InterpolationMode getInterpolationMode() {
+      return null == interpolationMode ? _interpolationMode : interpolationMode.get();
+   }
+
+   /**
+    * FIXED_STEP (default) samples interpolated series every degree,
+    * PIXEL_ADAPTIVE samples them every interpolationPixelStep pixels at the
+    * current size of the pane.
+    */
+   public void setInterpolationMode(final InterpolationMode MODE) {
+      if (null == interpolationMode) {
+         _interpolationMode = MODE;
+         scheduleDataRedraw();
+      } else {
+         interpolationMode.set(MODE);
+      }
+   }
+
+   public ObjectProperty<InterpolationMode> interpolationModeProperty() {
+      if (null == interpolationMode) {
+         interpolationMode = new ObjectPropertyBase<InterpolationMode>(_interpolationMode) {
+            @Override
+            protected void invalidated() {
+               scheduleDataRedraw();
+            }
+
+            @Override
+            public Object getBean() {
+               return XYPane.this;
+            }
+
+            @Override
+            public String getName() {
+               return "interpolationMode";
+            }
+         };
+         _interpolationMode = null;
+      }
+      return interpolationMode;
+   }
+
+   public double getInterpolationPixelStep() {
+      return null == interpolationPixelStep ? _interpolationPixelStep : interpolationPixelStep.get();
+   }
+
+   /**
+    * Target on-screen distance in pixels between two samples of an
+    * interpolated series in PIXEL_ADAPTIVE mode. Values below
+    * MIN_INTERPOLATION_PIXEL_STEP are raised to it.
+    */
+   public void setInterpolationPixelStep(final double STEP) {
+      if (null == interpolationPixelStep) {
+         _interpolationPixelStep = STEP;
+         scheduleDataRedraw();
+      } else {
+         interpolationPixelStep.set(STEP);
+      }
+   }
+
+   public DoubleProperty interpolationPixelStepProperty() {
+      if (null == interpolationPixelStep) {
+         interpolationPixelStep = new DoublePropertyBase(_interpolationPixelStep) {
+            @Override
+            protected void invalidated() {
+               scheduleDataRedraw();
+            }
+
+            @Override
+            public Object getBean() {
+               return XYPane.this;
+            }
+
+            @Override
+            public String getName() {
+               return "interpolationPixelStep";
+            }
+         };
+      }
+      return interpolationPixelStep;
+   }
+
+   public boolean isFineTrigTable() {
+      return TrigTable.DEGREE != trigTable;
+   }
+
+   /**
+    * Series are transformed with a 1 degree sin/cos table for angles on that
+    * grid. Set to true to use a 0.1 degree table instead, for data recorded
+    * with sub-degree angles.
+    */
+   public void setFineTrigTable(final boolean fine) {
+      trigTable = fine ? TrigTable.tenthDegree() : TrigTable.DEGREE;
+      scheduleDataRedraw();
+   }
+
+   public boolean isVectorTransform() {
+      return vectorTransform;
+   }
+
+   /**
+    * Series are transformed with a SIMD kernel if the application was started
+    * with --add-modules jdk.incubator.vector. Set to false to use the scalar
+    * transform anyway. Has no effect without that module.
+    */
+   public void setVectorTransform(final boolean vector) {
+      vectorTransform = vector && PolarTransform.isVectorAvailable();
+      scheduleDataRedraw();
+   }
+
+   public Executor getGeometryExecutor() {
+      return geometryExecutor;
+   }
+
+   /**
+    * Executor the series geometry (interpolation, transform, decimation) is
+    * prepared on. The FX thread only takes a snapshot of the series and
+    * draws the prepared geometry, one frame later. At most one frame is
+    * prepared at a time, changes made meanwhile are folded into the next one.
+    * Null, the default, prepares the geometry on the FX thread.
+    */
+   public void setGeometryExecutor(final Executor executor) {
+      geometryExecutor = executor;
+   }
+
+   public ForkJoinPool getGeometryPool() {
+      return preparer.getPool();
+   }
+
+   /**
+    * Pool the geometry of the series is prepared on in parallel, e.g.
+    * ForkJoinPool.commonPool(). Very long series are split into slices of
+    * adjacent segments. The series are still drawn in order. Null, the
+    * default, prepares one series after another. Independent of
+    * setGeometryExecutor(...), which moves the preparation off the FX thread.
+    */
+   public void setGeometryPool(final ForkJoinPool pool) {
+      preparer.setPool(pool);
+      scheduleDataRedraw();
+   }
+
+   public SymbolRendering getSymbolRendering() {
+      return null == symbolRendering ? _symbolRendering : symbolRendering.get();
+   }
+
+   /**
+    * DIRECT (default) draws every symbol as vector shapes, SPRITE blits
+    * pre-rendered images of the symbols and BATCH draws all symbols of a
+    * series as one vector path.
+    */
+   public void setSymbolRendering(final SymbolRendering RENDERING) {
+      if (null == symbolRendering) {
+         _symbolRendering = RENDERING;
+         scheduleDataRedraw();
+      } else {
+         symbolRendering.set(RENDERING);
+      }
+   }
+
+   public ObjectProperty<SymbolRendering> symbolRenderingProperty() {
+      if (null == symbolRendering) {
+         symbolRendering = new ObjectPropertyBase<SymbolRendering>(_symbolRendering) {
+            @Override
+            protected void invalidated() {
+               scheduleDataRedraw();
+            }
+
+            @Override
+            public Object getBean() {
+               return XYPane.this;
+            }
+
+            @Override
+            public String getName() {
+               return "symbolRendering";
+            }
+         };
+         _symbolRendering = null;
+      }
+      return symbolRendering;
+   }
+
    public boolean containsPolarChart() {
       for (XYSeries<T> series : listOfSeries) {
          ChartType type = series.getChartType();
@@ -655,203 +984,278 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
       this.coordinateConsumer = consumer;
    }
 
+   /**
+    * Number of frames painted on the data layer.
+    */
+   public long getRedrawCount() {
+      return redrawCount.get();
+   }
+
+   /**
+    * Number of redraw requests that were folded into an already scheduled
+    * frame instead of causing a repaint of their own.
+    */
+   public long getCoalescedRedrawCount() {
+      return coalescedRedrawCount.get();
+   }
+
+   /**
+    * Number of series repaints that reused the interpolated curve of an
+    * unchanged series.
+    */
+   public long getInterpolationCacheHits() {
+      return preparer.getCacheHits();
+   }
+
+   /**
+    * Number of series repaints that had to interpolate the whole series, e.g.
+    * because the angle unit changed or the series data was replaced.
+    */
+   public long getInterpolationCacheMisses() {
+      return preparer.getCacheMisses();
+   }
+
+   /**
+    * Number of series repaints that only re-interpolated the segments next to
+    * changed items and spliced them into the cached curve.
+    */
+   public long getInterpolationPartialUpdates() {
+      return preparer.getPartialUpdates();
+   }
+
+   /**
+    * Number of frames prepared on the geometry executor that were not drawn,
+    * because the size or the bounds of the plot changed while they were
+    * prepared.
+    */
+   public long getDroppedFrameCount() {
+      return droppedFrameCount.get();
+   }
+
    // ******************** Draw Chart ****************************************
    protected void redraw() {
-      drawChart();
+      gridDirty.set(true);
+      dataDirty.set(true);
+      scheduleRedraw();
+   }
+
+   private void scheduleGridRedraw() {
+      gridDirty.set(true);
+      scheduleRedraw();
+   }
+
+   private void scheduleDataRedraw() {
+      dataDirty.set(true);
+      scheduleRedraw();
+   }
+
+   /**
+    * Folds any number of invalidations into a single drawChart() on the next
+    * pulse. Safe to call from any thread.
+    */
+   private void scheduleRedraw() {
+      if (!redrawScheduled.compareAndSet(false, true)) {
+         coalescedRedrawCount.incrementAndGet();
+         return;
+      }
+
+      if (Platform.isFxApplicationThread()) {
+         redrawTimer.start();
+      } else {
+         Platform.runLater(redrawTimer::start);
+      }
    }
 
    private void drawChart() {
+      drawGrid();
+      drawData();
+   }
+
+   /**
+    * Repaints the grid layer: background, star lines, rings, threshold
+    * circle and axis text.
+    */
+   private void drawGrid() {
       if (null == listOfSeries || listOfSeries.isEmpty()) return;
 
-      ctx.clearRect(0, 0, width, height);
-      ctx.setFill(getChartBackground());
-      ctx.fillRect(0, 0, width, height);
+      gridCtx.clearRect(0, 0, width, height);
+      gridCtx.setFill(getChartBackground());
+      gridCtx.fillRect(0, 0, width, height);
 
       final double circleSize = 0.9 * size;
       final double range = .5 * circleSize;
       final double offset = 0;
-      final boolean useRadians = listOfSeries.stream()
-         .anyMatch(series -> ChartType.INTERPOLATE_POLAR_RADIANS.equals(series.getChartType()));
+      gridUsesRadians = useRadians();
 
       drawPolarGrid(getPolarTickStep().get(),
          range,
          offset,
-         useRadians);
+         gridUsesRadians);
+   }
 
-      for (XYSeries<T> series : listOfSeries) {
-         final ChartType TYPE = series.getChartType();
-         switch (TYPE) {
-            case INTERPOLATE_POLAR:
-            case INTERPOLATE_POLAR_RADIANS:
-               drawPolar(series, range, offset);
-               break;
+   /**
+    * Repaints the data layer only. The grid is left alone unless the
+    * series switched between degrees and radians, which changes the axis text.
+    * With a geometry executor the data layer is repainted once the geometry
+    * of this frame is prepared.
+    */
+   private void drawData() {
+      if (null == listOfSeries || listOfSeries.isEmpty()) return;
+
+      if (useRadians() != gridUsesRadians) {
+         drawGrid();
+      }
+
+      if (frameInFlight) {
+         // the preparer is busy, take a new snapshot once it is done
+         framePending = true;
+         return;
+      }
+
+      final FrameSnapshot frame = takeSnapshot();
+      final Executor executor = geometryExecutor;
+      if (null != executor) {
+         frameInFlight = true;
+         try {
+            executor.execute(() -> prepareFrame(frame));
+            return;
+         } catch (RejectedExecutionException e) {
+            frameInFlight = false;
          }
       }
 
+      try {
+         preparer.prepare(frame, frontGeometry);
+      } catch (RuntimeException e) {
+         snapshotVersions.clear();
+         throw e;
+      }
+      paintData(frontGeometry);
    }
 
-   private void drawPolar(final XYSeries<T> series,
-                          final double range,
-                          final double offset) {
+   private FrameSnapshot.Layout currentLayout() {
       final double xCenter = 0.5 * size;
-      final double yCenter = xCenter;
-      final double yLowerBound = getLowerBoundY();
-      final double yRange = getRangeY();
-      final boolean showPoints = series.getSymbolsVisible();
-
+      final double range = .5 * 0.9 * size;
+      return new FrameSnapshot.Layout(xCenter, xCenter, getLowerBoundY(), getRangeY(), range, 0);
+   }
 
-      // draw the chart data
-      ctx.save();
-      if (series.getFill() instanceof RadialGradient) {
-         ctx.setFill(new RadialGradient(0, 0, size * 0.5, size * 0.5,
-            size * 0.45, false, CycleMethod.NO_CYCLE, ((RadialGradient) series.getFill()).getStops()));
-      } else {
-         ctx.setFill(series.getFill());
-      }
-      ctx.setLineWidth(series.getStrokeWidth() > -1 ? series.getStrokeWidth() : size * 0.0025);
-      ctx.setStroke(series.getStroke());
-      ctx.setLineJoin(StrokeLineJoin.ROUND);
-
-      T firstItem = series.getItems().get(0);
-      Point[] points = null;
-
-      if (ChartType.INTERPOLATE_POLAR == series.getChartType() || ChartType.INTERPOLATE_POLAR_RADIANS == series.getChartType()) {
-         final boolean useRadians = ChartType.INTERPOLATE_POLAR_RADIANS == series.getChartType();
-         //noinspection unchecked
-         points = buildPoints(series, xCenter, yCenter, yLowerBound,
-            yRange, range, offset, useRadians);
-         final var withWrapping = series.isWithWrapping();
-         final var interpolatedItems = interpolate(series,
-            useRadians, withWrapping);
-         //noinspection unchecked
-         final var interpolatedPoints = buildPoints((List<T>) interpolatedItems, xCenter, yCenter, yLowerBound,
-            yRange, range, offset, useRadians);
-
-         if (withWrapping) {
-            ctx.beginPath();
-            ctx.moveTo(interpolatedPoints[0].getX(), interpolatedPoints[0].getY());
-            for (Point point : interpolatedPoints) {
-               ctx.lineTo(point.getX(), point.getY());
-            }
-            ctx.closePath();
-         } else {
-            ctx.beginPath();
-            final var xVals = Arrays.stream(interpolatedPoints)
-               .mapToDouble(Point::getX)
-               .toArray();
-            final var yVals = Arrays.stream(interpolatedPoints)
-               .mapToDouble(Point::getY)
-               .toArray();
-            ctx.strokePolyline(xVals, yVals, interpolatedPoints.length);
-            ctx.closePath();
+   /**
+    * Copies everything needed to prepare the geometry of the polar series.
+    * Series only contribute the items that changed since their last snapshot.
+    */
+   private FrameSnapshot takeSnapshot() {
+      final List<SeriesSnapshot> snapshots = new ArrayList<>(listOfSeries.size());
+      for (XYSeries<T> series : listOfSeries) {
+         final ChartType TYPE = series.getChartType();
+         if (ChartType.INTERPOLATE_POLAR != TYPE && ChartType.INTERPOLATE_POLAR_RADIANS != TYPE) {
+            continue;
          }
+         final Long version = snapshotVersions.get(series);
+         final SeriesSnapshot snapshot = SeriesSnapshot.take(series, null == version ? -1 : version,
+            ChartType.INTERPOLATE_POLAR_RADIANS == TYPE, series.isWithWrapping());
+         snapshotVersions.put(series, snapshot.getVersion());
+         snapshots.add(snapshot);
       }
+      final double pixelStep = InterpolationMode.PIXEL_ADAPTIVE == getInterpolationMode()
+         ? Math.max(MIN_INTERPOLATION_PIXEL_STEP, getInterpolationPixelStep())
+         : 0;
+      return new FrameSnapshot(currentLayout(), pixelStep, trigTable, vectorTransform, snapshots);
+   }
 
-      ctx.fill();
-      ctx.stroke();
+   /**
+    * Runs on the geometry executor. Prepares the back geometry and hands it
+    * to the next pulse.
+    */
+   private void prepareFrame(final FrameSnapshot frame) {
+      try {
+         preparer.prepare(frame, backGeometry);
+      } catch (RuntimeException e) {
+         frameFailure = e;
+      }
+      preparedFrame.set(backGeometry);
+      scheduleRedraw();
+   }
 
-      ctx.restore();
+   /**
+    * Swaps in a frame prepared on the geometry executor and draws it, unless
+    * the plot was resized or rescaled in the meantime.
+    */
+   private void presentFrame(final FrameGeometry prepared) {
+      frameInFlight = false;
+      final RuntimeException failure = frameFailure;
+      if (null != failure) {
+         // the preparer may have missed some changes, start over from full snapshots
+         frameFailure = null;
+         snapshotVersions.clear();
+         scheduleDataRedraw();
+         throw failure;
+      }
 
-      if (showPoints) {
-         drawPoints(series, points);
+      backGeometry = frontGeometry;
+      frontGeometry = prepared;
+      if (currentLayout().equals(prepared.getFrame().getLayout())) {
+         paintData(frontGeometry);
+      } else {
+         droppedFrameCount.incrementAndGet();
       }
    }
 
-   private List<XYChartItem> interpolate(XYSeries<T> series,
-                                         boolean useRadians,
-                                         boolean wrap) {
-      //noinspection unchecked
-      return useRadians
-         ? Interpolator.interpolateRadians((List<XYChartItem>) series.getItems(), wrap)
-         : Interpolator.interpolate((List<XYChartItem>) series.getItems(), wrap);
-   }
-
-   private Point[] buildPoints(XYSeries<T> series,
-                               double xCenter,
-                               double yCenter,
-                               double yLowerBound,
-                               double yRange,
-                               double range,
-                               double offset,
-                               boolean useRadians) {
-      final var items = series.getItems();
-      return buildPoints(items, xCenter, yCenter, yLowerBound, yRange, range,
-         offset, useRadians);
-   }
-
-   private Point[] buildPoints(List<T> items,
-                               double xCenter,
-                               double yCenter,
-                               double yLowerBound,
-                               double yRange,
-                               double range,
-                               double offset,
-                               boolean useRadians) {
-      if (useRadians) {
-         return buildPointsRadians(items, xCenter, yCenter, yLowerBound,
-            yRange, range, offset);
-      } else {
-         return buildPointsDegrees(items, xCenter, yCenter, yLowerBound,
-            yRange, range, offset);
+   private void paintData(final FrameGeometry geometry) {
+      dataCtx.clearRect(0, 0, width, height);
+      for (SeriesSnapshot snapshot : geometry.getFrame().getSeries()) {
+         @SuppressWarnings("unchecked")
+         final XYSeries<T> series = (XYSeries<T>) snapshot.getSeries();
+         drawPolar(series, geometry.get(series));
       }
+      redrawCount.incrementAndGet();
    }
 
-   private Point[] buildPointsRadians(List<T> items,
-                                      double xCenter,
-                                      double yCenter,
-                                      double yLowerBound,
-                                      double yRange,
-                                      double range,
-                                      double offset) {
-      T item = items.get(0);
-      double radAngle = Math.toRadians(180);
-      int numOfItems = items.size();
-      Point[] points = new Point[numOfItems];
-
-      double r1 = (yCenter - (yCenter - offset - ((item.getY() - yLowerBound) / yRange) * range));
-      double phi = Helper.clamp(0.0, Math.toRadians(360.0), item.getX() % (2 * Math.PI));
-      double x = xCenter + (-Math.sin(radAngle + phi) * r1);
-      double y = yCenter + (+Math.cos(radAngle + phi) * r1);
-      points[0] = new Point(x, y);
-
-      for (int i = 1; i < numOfItems; i++) {
-         item = items.get(i);
-         r1 = (yCenter - (yCenter - offset - ((item.getY() - yLowerBound) / yRange) * range));
-         phi = Helper.clamp(0.0, Math.toRadians(360.0), item.getX() % (2 * Math.PI));
-         x = xCenter + (-Math.sin(radAngle + phi) * r1);
-         y = yCenter + (+Math.cos(radAngle + phi) * r1);
-         points[i] = new Point(x, y);
+   private boolean useRadians() {
+      return listOfSeries.stream()
+         .anyMatch(series -> ChartType.INTERPOLATE_POLAR_RADIANS.equals(series.getChartType()));
+   }
+
+   private void drawPolar(final XYSeries<T> series,
+                          final SeriesGeometry geometry) {
+      final PointBuffer outline = geometry.getOutline();
+      if (outline.isEmpty()) {
+         return;
       }
-      return points;
-   }
-
-   private Point[] buildPointsDegrees(List<T> items,
-                                      double xCenter,
-                                      double yCenter,
-                                      double yLowerBound,
-                                      double yRange,
-                                      double range,
-                                      double offset) {
-      T item = items.get(0);
-      double radAngle = Math.toRadians(180);
-      int numOfItems = items.size();
-      Point[] points = new Point[numOfItems];
-
-      double r1 = (yCenter - (yCenter - offset - ((item.getY() - yLowerBound) / yRange) * range));
-      double phi = Math.toRadians(Helper.clamp(0.0, 360.0, item.getX() % 360.0));
-      double x = xCenter + (-Math.sin(radAngle + phi) * r1);
-      double y = yCenter + (+Math.cos(radAngle + phi) * r1);
-      points[0] = new Point(x, y);
-
-      for (int i = 1; i < numOfItems; i++) {
-         item = items.get(i);
-         r1 = (yCenter - (yCenter - offset - ((item.getY() - yLowerBound) / yRange) * range));
-         phi = Math.toRadians(Helper.clamp(0.0, 360.0, item.getX() % 360.0));
-         x = xCenter + (-Math.sin(radAngle + phi) * r1);
-         y = yCenter + (+Math.cos(radAngle + phi) * r1);
-         points[i] = new Point(x, y);
+
+      // draw the chart data
+      dataCtx.save();
+      if (series.getFill() instanceof RadialGradient) {
+         dataCtx.setFill(new RadialGradient(0, 0, size * 0.5, size * 0.5,
+            size * 0.45, false, CycleMethod.NO_CYCLE, ((RadialGradient) series.getFill()).getStops()));
+      } else {
+         dataCtx.setFill(series.getFill());
       }
-      return points;
+      dataCtx.setLineWidth(series.getStrokeWidth() > -1 ? series.getStrokeWidth() : size * 0.0025);
+      dataCtx.setStroke(series.getStroke());
+      dataCtx.setLineJoin(StrokeLineJoin.ROUND);
+
+      final double[] xs = outline.getXs();
+      final double[] ys = outline.getYs();
+      final int noOfPoints = outline.getSize();
+      if (geometry.isWrap()) {
+         dataCtx.beginPath();
+         dataCtx.moveTo(xs[0], ys[0]);
+         for (int i = 1; i < noOfPoints; i++) {
+            dataCtx.lineTo(xs[i], ys[i]);
+         }
+         dataCtx.closePath();
+      } else {
+         dataCtx.beginPath();
+         dataCtx.strokePolyline(xs, ys, noOfPoints);
+         dataCtx.closePath();
+      }
+
+      dataCtx.fill();
+      dataCtx.stroke();
+
+      dataCtx.restore();
+
+      drawPoints(series, geometry.getPoints());
    }
 
    private void drawPolarGrid(final double angleStep,
@@ -862,9 +1266,9 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
       final double yCenter = xCenter;
       final double circleSize = 0.90 * size;
       final double yRange = getRangeY();
-      final double numSectors = 360.0 / angleStep;
+      gridGeometry.update(size, angleStep, useRadians);
 
-      drawStarLines(angleStep, xCenter, yCenter, numSectors);
+      drawStarLines(xCenter, yCenter);
       drawConcentricRings(circleSize, yCenter, getLowerBoundY(), yRange, range, offset);
 
       // draw threshold circle
@@ -873,21 +1277,20 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
             1, getThresholdYColor());
       }
 
-      drawAxisText(angleStep, xCenter, yCenter, numSectors, useRadians);
+      drawAxisText();
    }
 
-   private void drawStarLines(double angleStep,
-                              double xCenter,
-                              double yCenter,
-                              double numSectors) {
+   private void drawStarLines(double xCenter,
+                              double yCenter) {
       // draw star lines
-      ctx.save();
-      ctx.setStroke(Color.LIGHTGRAY);
-      for (int i = 0; i < numSectors; i++) {
-         ctx.strokeLine(xCenter, 0.05 * size, xCenter, 0.5 * size);
-         Helper.rotateCtx(ctx, xCenter, yCenter, angleStep);
+      final double[] xs = gridGeometry.getSpokeXs();
+      final double[] ys = gridGeometry.getSpokeYs();
+      gridCtx.save();
+      gridCtx.setStroke(Color.LIGHTGRAY);
+      for (int i = 0; i < gridGeometry.getNoOfSectors(); i++) {
+         gridCtx.strokeLine(xs[i], ys[i], xCenter, yCenter);
       }
-      ctx.restore();
+      gridCtx.restore();
    }
 
    private void drawConcentricRings(double circleSize,
@@ -899,13 +1302,13 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
       // draw concentric rings
       final var yPolarRingValues = getYPolarRingValues();
       if (yPolarRingValues == null || yPolarRingValues.isEmpty()) {
-         ctx.setLineWidth(.5);
-         ctx.setStroke(Color.LIGHTGRAY);
+         gridCtx.setLineWidth(.5);
+         gridCtx.setStroke(Color.LIGHTGRAY);
          double ringStepSize = size / 20.0;
          double pos = 0.5 * (size - circleSize);
          double ringSize = circleSize;
          for (int i = 0; i < 11; i++) {
-            ctx.strokeOval(pos, pos, ringSize, ringSize);
+            gridCtx.strokeOval(pos, pos, ringSize, ringSize);
             pos += ringStepSize;
             ringSize -= 2 * ringStepSize;
          }
@@ -931,17 +1334,17 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
                            Color strokeColor) {
       double r = (yCenter - (yCenter - offset - ((y - yLowerBound) / yRange) * range));
 
-      ctx.save();
+      gridCtx.save();
 
       // double r = ((y - dataMinY) / dataRange);
-      ctx.setLineWidth(lineWidth);
-      ctx.setStroke(strokeColor);
-      ctx.strokeOval(0.5 * size - r, 0.5 * size - r,
+      gridCtx.setLineWidth(lineWidth);
+      gridCtx.setStroke(strokeColor);
+      gridCtx.strokeOval(0.5 * size - r, 0.5 * size - r,
          2 * r, 2 * r);
 
       drawLabel(y, 0.5 * size, 0.5 * size - r);
 
-      ctx.restore();
+      gridCtx.restore();
    }
 
    private void drawLabel(double value,
@@ -949,111 +1352,84 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
                           double y) {
       Font font = Fonts.latoRegular(0.025 * size);
       String valueText = String.format(Locale.US, "%.0f", value);
-      ctx.save();
-      ctx.setFont(font);
-      Helper.drawTextWithBackground(ctx, valueText, font, Color.WHITE, Color.BLACK,
+      gridCtx.save();
+      gridCtx.setFont(font);
+      Helper.drawTextWithBackground(gridCtx, valueText, font, Color.WHITE, Color.BLACK,
          x, y);
-      ctx.restore();
+      gridCtx.restore();
    }
 
-   private void drawPoints(XYSeries<T> series, Point[] points) {
-      if (series.getItems().isEmpty()) {
+   private void drawPoints(XYSeries<T> series, PointBuffer points) {
+      if (points.isEmpty()) {
          return;
       }
 
-      final var firstItem = series.getItems().stream().findFirst().orElseThrow();
+      // series without items (PolarSeries, StreamingSeries) always use the series symbol
+      final T firstItem = series.getItems().isEmpty() ? null : series.getItems().get(0);
 
       Symbol seriesSymbol = series.getSymbol();
       Paint symbolFill = series.getSymbolFill();
       Paint symbolStroke = series.getSymbolStroke();
-      Symbol itemSymbol = firstItem.getSymbol();
-      Paint fill = firstItem.getFill();
-      Paint stroke = firstItem.getStroke();
+      Symbol itemSymbol = null == firstItem ? Symbol.NONE : firstItem.getSymbol();
+      Paint fill = null == firstItem ? symbolFill : firstItem.getFill();
+      Paint stroke = null == firstItem ? symbolStroke : firstItem.getStroke();
       double size = series.getSymbolSize() > -1 ? series.getSymbolSize() : symbolSize;
-      for (Point point : points) {
-         if (Symbol.NONE == itemSymbol) {
-            drawSymbol(point.getX(), point.getY(), symbolFill, symbolStroke, seriesSymbol, size);
-         } else {
-            drawSymbol(point.getX(), point.getY(), fill, stroke, itemSymbol, size);
-         }
-      }
-   }
-
-   private void drawSymbol(final double X,
-                           final double Y,
-                           final Paint fill,
-                           final Paint stroke,
-                           final Symbol symbol,
-                           final double symbolSize) {
-      double halfSymbolSize = symbolSize * 0.5;
-      ctx.save();
-      switch (symbol) {
-         case NONE:
-            break;
-         case SQUARE:
-            ctx.setStroke(stroke);
-            ctx.setFill(fill);
-            ctx.fillRect(X - halfSymbolSize, Y - halfSymbolSize, symbolSize, symbolSize);
-            ctx.strokeRect(X - halfSymbolSize, Y - halfSymbolSize, symbolSize, symbolSize);
-            break;
-         case TRIANGLE:
-            ctx.setStroke(stroke);
-            ctx.setFill(fill);
-            ctx.beginPath();
-            ctx.moveTo(X, Y - halfSymbolSize);
-            ctx.lineTo(X + halfSymbolSize, Y + halfSymbolSize);
-            ctx.lineTo(X - halfSymbolSize, Y + halfSymbolSize);
-            ctx.lineTo(X, Y - halfSymbolSize);
-            ctx.closePath();
-            ctx.fill();
-            ctx.stroke();
-            break;
-         case STAR:
-            ctx.setStroke(stroke);
-            ctx.setFill(null);
-            ctx.strokeLine(X - halfSymbolSize, Y, X + halfSymbolSize, Y);
-            ctx.strokeLine(X, Y - halfSymbolSize, X, Y + halfSymbolSize);
-            ctx.strokeLine(X - halfSymbolSize, Y - halfSymbolSize, X + halfSymbolSize, Y + halfSymbolSize);
-            ctx.strokeLine(X + halfSymbolSize, Y - halfSymbolSize, X - halfSymbolSize, Y + halfSymbolSize);
+      // all points share the symbol of the first item, or the series symbol if that is NONE
+      final Symbol pointSymbol = Symbol.NONE == itemSymbol ? seriesSymbol : itemSymbol;
+      final Paint pointFill = Symbol.NONE == itemSymbol ? symbolFill : fill;
+      final Paint pointStroke = Symbol.NONE == itemSymbol ? symbolStroke : stroke;
+      final double[] xs = points.getXs();
+      final double[] ys = points.getYs();
+      switch (getSymbolRendering()) {
+         case SPRITE:
+            if (Symbol.NONE != pointSymbol) {
+               final double renderScale = getRenderScale();
+               final WritableImage sprite = spriteCache.get(pointSymbol, pointFill, pointStroke, size, renderScale);
+               for (int i = 0; i < points.getSize(); i++) {
+                  SymbolSpriteCache.draw(dataCtx, sprite, xs[i], ys[i], renderScale);
+               }
+            }
             break;
-         case CROSS:
-            ctx.setStroke(stroke);
-            ctx.setFill(null);
-            ctx.strokeLine(X - halfSymbolSize, Y, X + halfSymbolSize, Y);
-            ctx.strokeLine(X, Y - halfSymbolSize, X, Y + halfSymbolSize);
+         case BATCH:
+            Helper.drawSymbols(dataCtx, xs, ys, points.getSize(), pointFill, pointStroke, pointSymbol, size);
             break;
-         case CIRCLE:
+         case DIRECT:
          default:
-            ctx.setStroke(stroke);
-            ctx.setFill(fill);
-            ctx.fillOval(X - halfSymbolSize, Y - halfSymbolSize, symbolSize, symbolSize);
-            ctx.strokeOval(X - halfSymbolSize, Y - halfSymbolSize, symbolSize, symbolSize);
-            break;
+            for (int i = 0; i < points.getSize(); i++) {
+               Helper.drawSymbol(dataCtx, xs[i], ys[i], pointFill, pointStroke, pointSymbol, size);
+            }
       }
-      ctx.restore();
-   }
-
-   private void drawAxisText(double angleStep,
-                             double xCenter,
-                             double yCenter,
-                             double numSectors,
-                             boolean useRadians) {
-      ctx.setTextAlign(TextAlignment.CENTER);
-      ctx.setTextBaseline(VPos.CENTER);
-      ctx.setFill(Color.BLACK);
-
-      // draw axis text
-      ctx.save();
-      ctx.setFont(Fonts.latoRegular(0.025 * size));
-      for (int i = 0; i < numSectors; i++) {
-         final var angle = useRadians
-            ? Math.toRadians(i * angleStep)
-            : i * angleStep;
-         final var text = FormatAngle.format(angle, useRadians);
-         ctx.fillText(text, xCenter, size * 0.02);
-         Helper.rotateCtx(ctx, xCenter, yCenter, angleStep);
+   }
+
+   /**
+    * Device pixels per unit of the window the pane is shown in, 1 if it is not
+    * shown yet.
+    */
+   private double getRenderScale() {
+      final Scene scene = dataCanvas.getScene();
+      final Window window = null == scene ? null : scene.getWindow();
+      return null == window ? 1 : window.getOutputScaleX();
+   }
+
+   private void drawAxisText() {
+      gridCtx.setTextAlign(TextAlignment.CENTER);
+      gridCtx.setTextBaseline(VPos.CENTER);
+      gridCtx.setFill(Color.BLACK);
+
+      // draw axis text rotated by the sector angle, with one absolute transform
+      // per label instead of rotating the context around the center per sector
+      final double[] xs = gridGeometry.getLabelXs();
+      final double[] ys = gridGeometry.getLabelYs();
+      final double[] sins = gridGeometry.getSins();
+      final double[] coss = gridGeometry.getCoss();
+      final String[] labels = gridGeometry.getLabels();
+      gridCtx.save();
+      gridCtx.setFont(Fonts.latoRegular(0.025 * size));
+      for (int i = 0; i < gridGeometry.getNoOfSectors(); i++) {
+         gridCtx.setTransform(coss[i], sins[i], -sins[i], coss[i], xs[i], ys[i]);
+         gridCtx.fillText(labels[i], 0, 0);
       }
-      ctx.restore();
+      gridCtx.restore();
    }
 
    // ******************** Resizing ******************************************
@@ -1071,16 +1447,27 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
       }
 
       if (width > 0 && height > 0) {
-         canvas.setWidth(width);
-         canvas.setHeight(height);
-         canvas.relocate((getWidth() - width) * 0.5, (getHeight() - height) * 0.5);
-
-         symbolSize = Helper.clamp(MIN_SYMBOL_SIZE, MAX_SYMBOL_SIZE, size * 0.016);
+         gridCanvas.setWidth(width);
+         gridCanvas.setHeight(height);
+         gridCanvas.relocate((getWidth() - width) * 0.5, (getHeight() - height) * 0.5);
+         dataCanvas.setWidth(width);
+         dataCanvas.setHeight(height);
+         dataCanvas.relocate((getWidth() - width) * 0.5, (getHeight() - height) * 0.5);
+
+         final double newSymbolSize = Helper.clamp(MIN_SYMBOL_SIZE, MAX_SYMBOL_SIZE, size * 0.016);
+         if (newSymbolSize != symbolSize) {
+            symbolSize = newSymbolSize;
+            spriteCache.clear();
+         }
 
          scaleX = width / getRangeX();
          scaleY = height / getRangeY();
 
-         redraw();
+         // resize runs during layout, after the pulse's timers have fired, so
+         // paint right away instead of lagging one frame behind the new size.
+         gridDirty.set(false);
+         dataDirty.set(false);
+         drawChart();
       }
    }
 }
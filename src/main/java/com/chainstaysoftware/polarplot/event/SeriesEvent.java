@@ -26,6 +26,8 @@ import com.chainstaysoftware.polarplot.series.Series;
 public class SeriesEvent<T extends ChartItem> {
     private final Series<T> SERIES;
     private final EventType TYPE;
+    private final int       FROM;
+    private final int       TO;
 
 
     // ******************** Constructors **************************************
@@ -33,8 +35,13 @@ public class SeriesEvent<T extends ChartItem> {
         this(SERIES, EventType.UPDATE);
     }
     public SeriesEvent(final Series<T> SERIES, final EventType TYPE) {
+        this(SERIES, TYPE, -1, -1);
+    }
+    public SeriesEvent(final Series<T> SERIES, final EventType TYPE, final int FROM, final int TO) {
         this.SERIES = SERIES;
         this.TYPE   = TYPE;
+        this.FROM   = FROM;
+        this.TO     = TO;
     }
 
 
@@ -42,4 +49,15 @@ public class SeriesEvent<T extends ChartItem> {
     public Series<T> getSeries() { return SERIES; }
 
     public EventType getEventType() { return TYPE; }
+
+    /**
+     * First item that changed, in current indices, or -1 if the event does
+     * not say which items changed.
+     */
+    public int getFrom() { return FROM; }
+    /**
+     * Index after the last item that changed, -1 if not known. Items from here
+     * on are unchanged but may have moved if items were added or removed.
+     */
+    public int getTo() { return TO; }
 }
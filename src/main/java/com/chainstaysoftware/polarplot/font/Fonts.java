@@ -16,36 +16,65 @@
 
 package com.chainstaysoftware.polarplot.font;
 
+import com.chainstaysoftware.polarplot.tools.Helper;
 import javafx.scene.text.Font;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
 
 /**
  * Created by hansolo on 19.07.17.
+ *
+ * The OTF files are parsed asynchronously, starting when the class is
+ * initialized, and Font instances are cached per size, rounded to 0.25 pt.
  */
 public class Fonts {
-    private static final String LATO_LIGHT_NAME;
-    private static final String LATO_REGULAR_NAME;
-    private static final String LATO_BOLD_NAME;
-
-    private static String latoLightName;
-    private static String latoRegularName;
-    private static String latoBoldName;
+    private static final int                          SIZE_STEPS_PER_POINT = 4;
+    private static final CompletableFuture<String[]>  NAMES;
+    private static final Map<Integer, Font>           LATO_LIGHT_CACHE     = new ConcurrentHashMap<>();
+    private static final Map<Integer, Font>           LATO_REGULAR_CACHE   = new ConcurrentHashMap<>();
+    private static final Map<Integer, Font>           LATO_BOLD_CACHE      = new ConcurrentHashMap<>();
 
 
     static {
-        try {
-            latoLightName              = Font.loadFont(Fonts.class.getResourceAsStream("/com/chainstaysoftware/polarplot/font/Lato-Lig.otf"), 10).getName();
-            latoRegularName            = Font.loadFont(Fonts.class.getResourceAsStream("/com/chainstaysoftware/polarplot/font/Lato-Reg.otf"), 10).getName();
-            latoBoldName               = Font.loadFont(Fonts.class.getResourceAsStream("/com/chainstaysoftware/polarplot/font/Lato-Bol.otf"), 10).getName();
-        } catch (Exception exception) { }
-        LATO_LIGHT_NAME               = latoLightName;
-        LATO_REGULAR_NAME             = latoRegularName;
-        LATO_BOLD_NAME                = latoBoldName;
+        NAMES = CompletableFuture.supplyAsync(Fonts::loadFonts, RUNNABLE -> {
+            final Thread thread = new Thread(RUNNABLE, "polarplot-font-loader");
+            thread.setDaemon(true);
+            thread.start();
+        }).thenApply(LOADED -> {
+            // text measured under these names before they were registered used a fallback font
+            Helper.clearTextDimensionCache();
+            return LOADED;
+        });
     }
 
 
     // ******************** Methods *******************************************
-    public static Font latoLight(final double SIZE) { return new Font(LATO_LIGHT_NAME, SIZE); }
-    public static Font latoRegular(final double SIZE) { return new Font(LATO_REGULAR_NAME, SIZE); }
-    public static Font latoBold(final double SIZE) { return new Font(LATO_BOLD_NAME, SIZE); }
+    /**
+     * Starts loading the fonts in the background, if that did not already
+     * happen. Call it early, e.g. in Application.init(), so the first plot
+     * shown does not wait for font parsing on the FX application thread.
+     */
+    public static CompletableFuture<Void> warmUp() { return NAMES.thenRun(() -> {}); }
+
+    public static Font latoLight(final double SIZE) { return font(LATO_LIGHT_CACHE, 0, SIZE); }
+    public static Font latoRegular(final double SIZE) { return font(LATO_REGULAR_CACHE, 1, SIZE); }
+    public static Font latoBold(final double SIZE) { return font(LATO_BOLD_CACHE, 2, SIZE); }
+
+    private static Font font(final Map<Integer, Font> CACHE, final int INDEX, final double SIZE) {
+        return CACHE.computeIfAbsent((int) Math.round(SIZE * SIZE_STEPS_PER_POINT),
+                                     STEPS -> new Font(NAMES.join()[INDEX], (double) STEPS / SIZE_STEPS_PER_POINT));
+    }
+
+    private static String[] loadFonts() {
+        final String[] names = new String[3];
+        try {
+            names[0] = Font.loadFont(Fonts.class.getResourceAsStream("/com/chainstaysoftware/polarplot/font/Lato-Lig.otf"), 10).getName();
+            names[1] = Font.loadFont(Fonts.class.getResourceAsStream("/com/chainstaysoftware/polarplot/font/Lato-Reg.otf"), 10).getName();
+            names[2] = Font.loadFont(Fonts.class.getResourceAsStream("/com/chainstaysoftware/polarplot/font/Lato-Bol.otf"), 10).getName();
+        } catch (Exception exception) { }
+        return names;
+    }
 }
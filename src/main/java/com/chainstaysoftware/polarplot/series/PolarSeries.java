@@ -0,0 +1,95 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.Symbol;
+import com.chainstaysoftware.polarplot.data.Item;
+import com.chainstaysoftware.polarplot.data.XYItem;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.nio.DoubleBuffer;
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ * Series that keeps its angles (theta) and radii (r) in primitive arrays
+ * instead of one XYItem per sample. Fill, stroke and symbol are taken from
+ * the series, getItems() is always empty and cannot be modified.
+ * Renders through the same XYPane pipeline as XYSeries.
+ */
+public class PolarSeries<T extends XYItem> extends XYSeries<T> {
+
+    // ******************** Constructors **************************************
+    public PolarSeries(final double[] THETAS, final double[] RS, final ChartType TYPE) {
+        this(THETAS, RS, TYPE, "", Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, true);
+    }
+    public PolarSeries(final double[] THETAS, final double[] RS, final ChartType TYPE, final String NAME) {
+        this(THETAS, RS, TYPE, NAME, Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, true);
+    }
+    public PolarSeries(final double[] THETAS, final double[] RS, final ChartType TYPE, final Paint FILL, final Paint STROKE) {
+        this(THETAS, RS, TYPE, "", FILL, STROKE, Symbol.CIRCLE, true);
+    }
+    public PolarSeries(final double[] THETAS, final double[] RS, final ChartType TYPE, final String NAME, final Paint FILL, final Paint STROKE, final Symbol SYMBOL, final boolean SYMBOLS_VISIBLE) {
+        super(null, TYPE, NAME, FILL, STROKE, SYMBOL, SYMBOLS_VISIBLE);
+        checkLengths(THETAS.length, RS.length);
+        values.setAll(THETAS.length, i -> THETAS[i], i -> RS[i]);
+    }
+    public PolarSeries(final DoubleBuffer THETAS, final DoubleBuffer RS, final ChartType TYPE) {
+        this(THETAS, RS, TYPE, "", Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, true);
+    }
+    public PolarSeries(final DoubleBuffer THETAS, final DoubleBuffer RS, final ChartType TYPE, final String NAME, final Paint FILL, final Paint STROKE, final Symbol SYMBOL, final boolean SYMBOLS_VISIBLE) {
+        super(null, TYPE, NAME, FILL, STROKE, SYMBOL, SYMBOLS_VISIBLE);
+        checkLengths(THETAS.remaining(), RS.remaining());
+        setValues(THETAS, RS);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Empty and unmodifiable, the data is set with setData() and set().
+     */
+    @Override public ObservableList<T> getItems() { return FXCollections.emptyObservableList(); }
+    // XYSeries extends the raw Series, so these match its erased setters
+    @Override public void setItems(final Collection ITEMS) { throw noItems(); }
+    @Override public void setItems(final Item... ITEMS) { throw noItems(); }
+    @Override public void setItems(final List ITEMS) { throw noItems(); }
+
+    /**
+     * Replaces the data of the series. The arrays are copied.
+     */
+    public void setData(final double[] THETAS, final double[] RS) {
+        checkLengths(THETAS.length, RS.length);
+        values.setAll(THETAS.length, i -> THETAS[i], i -> RS[i]);
+        dataChanged();
+    }
+
+    /**
+     * Replaces the data of the series with the remaining content of the buffers.
+     * The buffer positions are not changed.
+     */
+    public void setData(final DoubleBuffer THETAS, final DoubleBuffer RS) {
+        checkLengths(THETAS.remaining(), RS.remaining());
+        setValues(THETAS, RS);
+        dataChanged();
+    }
+
+    public void set(final int INDEX, final double THETA, final double R) {
+        values.set(INDEX, THETA, R);
+        dataChanged(INDEX, 1, 1);
+    }
+
+    private void setValues(final DoubleBuffer THETAS, final DoubleBuffer RS) {
+        final int thetaPosition = THETAS.position();
+        final int rPosition     = RS.position();
+        values.setAll(THETAS.remaining(), i -> THETAS.get(thetaPosition + i), i -> RS.get(rPosition + i));
+    }
+
+    private static UnsupportedOperationException noItems() { return new UnsupportedOperationException("PolarSeries keeps no items, use setData()"); }
+
+    private static void checkLengths(final int NO_OF_THETAS, final int NO_OF_RS) {
+        if (NO_OF_THETAS != NO_OF_RS) { throw new IllegalArgumentException("Number of thetas (" + NO_OF_THETAS + ") and radii (" + NO_OF_RS + ") differ"); }
+    }
+}
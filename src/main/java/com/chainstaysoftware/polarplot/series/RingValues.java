@@ -0,0 +1,259 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+
+/**
+ * Ring of primitive (x, y) values. Adding to a full ring evicts the oldest
+ * value unless the ring is grown first. Adding, evicting and all statistics
+ * are O(1) (amortized) and allocation free: the extremes are tracked with
+ * monotonic queues over the ring slots, the sums are recomputed once per
+ * capacity evictions to drop the rounding error of the running sums.
+ * The content is at most two contiguous segments of the backing arrays, the
+ * oldest values from the head to the end of the arrays and the newest from the
+ * start of the arrays on.
+ */
+final class RingValues {
+    private       double[] xs;
+    private       double[] ys;
+    private final Extremes minX;
+    private final Extremes maxX;
+    private final Extremes minY;
+    private final Extremes maxY;
+    // slot of the oldest value
+    private       int      head;
+    private       int      size;
+    private       double   sumX;
+    private       double   sumY;
+    private       int      evictedSinceSum;
+
+
+    // ******************** Constructors **************************************
+    RingValues(final int CAPACITY) {
+        if (CAPACITY < 1) { throw new IllegalArgumentException("Capacity must be positive: " + CAPACITY); }
+        xs   = new double[CAPACITY];
+        ys   = new double[CAPACITY];
+        minX = new Extremes(xs, false);
+        maxX = new Extremes(xs, true);
+        minY = new Extremes(ys, false);
+        maxY = new Extremes(ys, true);
+    }
+
+
+    // ******************** Methods *******************************************
+    int capacity() { return xs.length; }
+
+    int size() { return size; }
+
+    double getX(final int INDEX) { return xs[slot(Objects.checkIndex(INDEX, size))]; }
+    double getY(final int INDEX) { return ys[slot(Objects.checkIndex(INDEX, size))]; }
+
+    /**
+     * Appends a value, evicting the oldest one if the ring is full. Returns
+     * true if a value was evicted.
+     */
+    boolean add(final double X, final double Y) {
+        final boolean evict = size == xs.length;
+        final int     slot;
+        if (evict) {
+            slot = head;
+            evict(slot);
+            head = next(head);
+        } else {
+            slot = slot(size);
+            size++;
+        }
+        xs[slot] = X;
+        ys[slot] = Y;
+        sumX    += X;
+        sumY    += Y;
+        minX.add(slot);
+        maxX.add(slot);
+        minY.add(slot);
+        maxY.add(slot);
+        return evict;
+    }
+
+    /**
+     * Grows the ring to hold at least CAPACITY values, keeping its content.
+     */
+    void ensureCapacity(final int CAPACITY) {
+        if (CAPACITY <= xs.length) { return; }
+        final int      newCapacity = Math.max(CAPACITY, xs.length + (xs.length >> 1));
+        final double[] newXs       = new double[newCapacity];
+        final double[] newYs       = new double[newCapacity];
+        final int      first       = Math.min(size, xs.length - head);
+        System.arraycopy(xs, head, newXs, 0, first);
+        System.arraycopy(ys, head, newYs, 0, first);
+        System.arraycopy(xs, 0, newXs, first, size - first);
+        System.arraycopy(ys, 0, newYs, first, size - first);
+        minX.relocate(newXs, head);
+        maxX.relocate(newXs, head);
+        minY.relocate(newYs, head);
+        maxY.relocate(newYs, head);
+        xs   = newXs;
+        ys   = newYs;
+        head = 0;
+    }
+
+    /**
+     * Removes the COUNT oldest values.
+     */
+    void removeOldest(final int COUNT) {
+        Objects.checkFromIndexSize(0, COUNT, size);
+        for (int i = 0; i < COUNT; i++) {
+            evict(head);
+            head = next(head);
+        }
+        size -= COUNT;
+        if (0 == size) { clear(); }
+    }
+
+    void clear() {
+        head            = 0;
+        size            = 0;
+        sumX            = 0;
+        sumY            = 0;
+        evictedSinceSum = 0;
+        minX.clear();
+        maxX.clear();
+        minY.clear();
+        maxY.clear();
+    }
+
+    double getMinX() { return minX.get(size); }
+    double getMaxX() { return maxX.get(size); }
+
+    double getMinY() { return minY.get(size); }
+    double getMaxY() { return maxY.get(size); }
+
+    double getSumX() { checkSums(); return sumX; }
+    double getSumY() { checkSums(); return sumY; }
+
+    /**
+     * Copies the values from FROM (inclusive) to TO (exclusive) into TARGET,
+     * replacing its content, with one array copy per segment.
+     */
+    void copyTo(final int FROM, final int TO, final PointBuffer TARGET) {
+        Objects.checkFromToIndex(FROM, TO, size);
+        final int count = TO - FROM;
+        final int start = slot(FROM);
+        final int first = Math.min(count, xs.length - start);
+        TARGET.clear();
+        TARGET.ensureCapacity(count);
+        System.arraycopy(xs, start, TARGET.getXs(), 0, first);
+        System.arraycopy(ys, start, TARGET.getYs(), 0, first);
+        System.arraycopy(xs, 0, TARGET.getXs(), first, count - first);
+        System.arraycopy(ys, 0, TARGET.getYs(), first, count - first);
+        TARGET.setSize(count);
+    }
+
+    private void evict(final int SLOT) {
+        sumX -= xs[SLOT];
+        sumY -= ys[SLOT];
+        evictedSinceSum++;
+        minX.evict(SLOT);
+        maxX.evict(SLOT);
+        minY.evict(SLOT);
+        maxY.evict(SLOT);
+    }
+
+    private void checkSums() {
+        if (evictedSinceSum < xs.length) { return; }
+        double sumX = 0;
+        double sumY = 0;
+        for (int i = 0; i < size; i++) {
+            sumX += xs[slot(i)];
+            sumY += ys[slot(i)];
+        }
+        this.sumX       = sumX;
+        this.sumY       = sumY;
+        evictedSinceSum = 0;
+    }
+
+    private int slot(final int INDEX) {
+        final int slot = head + INDEX;
+        return slot >= xs.length ? slot - xs.length : slot;
+    }
+
+    private int next(final int SLOT) { return SLOT + 1 == xs.length ? 0 : SLOT + 1; }
+
+
+    // ******************** Inner Classes *************************************
+    /**
+     * Slots, oldest first, whose values can still become the minimum (maximum)
+     * of the ring. Each value newer than and at least as small (large) as an
+     * older one makes that one irrelevant, so the values in the queue are
+     * increasing (decreasing) and the first one is the extreme.
+     */
+    private static final class Extremes {
+        private       double[] values;
+        private       int[]    slots;
+        private final boolean  max;
+        private       int      head;
+        private       int      size;
+
+
+        // ******************** Constructors **********************************
+        Extremes(final double[] VALUES, final boolean MAX) {
+            values = VALUES;
+            slots  = new int[VALUES.length];
+            max    = MAX;
+        }
+
+
+        // ******************** Methods ***************************************
+        void add(final int SLOT) {
+            final double value = values[SLOT];
+            while (size > 0 && dominates(value, values[slots[index(size - 1)]])) { size--; }
+            slots[index(size)] = SLOT;
+            size++;
+        }
+
+        /**
+         * Called before the oldest slot of the ring is evicted.
+         */
+        void evict(final int SLOT) {
+            if (size > 0 && slots[head] == SLOT) {
+                head = head + 1 == slots.length ? 0 : head + 1;
+                size--;
+            }
+        }
+
+        double get(final int RING_SIZE) {
+            if (0 == RING_SIZE) { throw new NoSuchElementException(); }
+            return values[slots[head]];
+        }
+
+        void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        /**
+         * Follows the ring into VALUES, where the slot RING_HEAD of the old
+         * arrays became slot 0.
+         */
+        void relocate(final double[] VALUES, final int RING_HEAD) {
+            final int   capacity = values.length;
+            final int[] newSlots = new int[VALUES.length];
+            for (int i = 0; i < size; i++) {
+                final int slot = slots[index(i)] - RING_HEAD;
+                newSlots[i] = slot < 0 ? slot + capacity : slot;
+            }
+            values = VALUES;
+            slots  = newSlots;
+            head   = 0;
+        }
+
+        private boolean dominates(final double VALUE, final double OLDER) { return max ? VALUE >= OLDER : VALUE <= OLDER; }
+
+        private int index(final int I) {
+            final int index = head + I;
+            return index >= slots.length ? index - slots.length : index;
+        }
+    }
+}
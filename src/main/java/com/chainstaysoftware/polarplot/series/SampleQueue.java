@@ -0,0 +1,124 @@
+package com.chainstaysoftware.polarplot.series;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Bounded lock-free queue of (theta, r) samples that any number of threads
+ * can offer to and one thread drains. Producers never block or allocate, a
+ * sample offered to a full queue is dropped and counted.
+ * Every slot carries a sequence number that tells the producer claiming a
+ * position whether the slot is free and the consumer whether it is filled.
+ */
+public final class SampleQueue {
+    private          final double[]        thetas;
+    private          final double[]        rs;
+    private          final AtomicLongArray sequences;
+    private          final int             mask;
+    // next position a producer claims
+    private          final AtomicLong      tail      = new AtomicLong();
+    // next position to drain, only written by the consumer
+    private volatile       long            head;
+    private          final LongAdder       dropped   = new LongAdder();
+    private          final AtomicBoolean   signalled = new AtomicBoolean();
+    private          final Runnable        onSamples;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Creates a queue that holds at least CAPACITY samples. ON_SAMPLES is run
+     * on the producing thread by the first offer after a drain, null for none.
+     */
+    public SampleQueue(final int CAPACITY, final Runnable ON_SAMPLES) {
+        if (CAPACITY < 1 || CAPACITY > 1 << 30) { throw new IllegalArgumentException("Capacity out of range: " + CAPACITY); }
+        // at least two slots, with one the filled and the free sequence number coincide
+        final int size = CAPACITY <= 2 ? 2 : Integer.highestOneBit(CAPACITY - 1) << 1;
+        thetas    = new double[size];
+        rs        = new double[size];
+        sequences = new AtomicLongArray(size);
+        mask      = size - 1;
+        onSamples = ON_SAMPLES;
+        for (int i = 0; i < size; i++) { sequences.set(i, i); }
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Adds a sample, from any thread. Returns false and counts the sample as
+     * dropped if the queue is full.
+     */
+    public boolean offer(final double THETA, final double R) {
+        long position = tail.get();
+        while (true) {
+            final int  slot     = (int) position & mask;
+            final long sequence = sequences.get(slot);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    thetas[slot] = THETA;
+                    rs[slot]     = R;
+                    sequences.set(slot, position + 1);
+                    break;
+                }
+                position = tail.get();
+            } else if (sequence < position) {
+                // slot still holds the sample from one lap ago
+                dropped.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        if (null != onSamples && !signalled.get() && signalled.compareAndSet(false, true)) { onSamples.run(); }
+        return true;
+    }
+
+    /**
+     * Hands the queued samples to SINK, oldest first, and returns their
+     * number. Stops at samples whose producer has not finished writing them,
+     * those are drained next time. Must not be called by two threads at once.
+     */
+    public int drain(final Sink SINK) {
+        // re-arm first, an offer racing with this drain signals again
+        signalled.set(false);
+        final long end      = tail.get();
+        final long start    = head;
+        long       position = start;
+        while (position < end) {
+            final int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) { break; }
+            final double theta = thetas[slot];
+            final double r     = rs[slot];
+            sequences.set(slot, position + mask + 1);
+            head = ++position;
+            SINK.accept(theta, r);
+        }
+        return (int) (position - start);
+    }
+
+    public int getCapacity() { return mask + 1; }
+
+    /**
+     * Number of samples waiting to be drained.
+     */
+    public int getDepth() { return (int) Math.max(0, Math.min(getCapacity(), tail.get() - head)); }
+
+    public boolean isEmpty() { return tail.get() == head; }
+
+    /**
+     * Number of samples dropped because the queue was full.
+     */
+    public long getDroppedCount() { return dropped.sum(); }
+
+
+    // ******************** Inner Classes *************************************
+    /**
+     * Receives drained samples.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void accept(final double THETA, final double R);
+    }
+}
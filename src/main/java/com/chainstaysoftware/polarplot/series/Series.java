@@ -43,6 +43,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 
 /**
@@ -81,6 +82,8 @@ public abstract class Series<T extends Item> {
     protected       ObservableList<T>                         items;
     private         CopyOnWriteArrayList<SeriesEventListener> listeners;
     private         ListChangeListener<T>                     itemListener;
+    private         int                                       updateDepth;
+    private         boolean                                   updatePending;
 
 
     // ******************** Constructors **************************************
@@ -124,12 +127,18 @@ public abstract class Series<T extends Item> {
         listeners          = new CopyOnWriteArrayList<>();
 
         if (null != ITEMS) { items.setAll(ITEMS); }
+
+        init();
+        registerListeners();
     }
 
 
     // ******************** Initialization ************************************
     private void init() {
-        itemListener = change -> fireSeriesEvent(UPDATE_EVENT);
+        itemListener = change -> {
+            itemsChanged(change);
+            fireSeriesEvent(UPDATE_EVENT);
+        };
     }
 
     private void registerListeners() {
@@ -422,10 +431,53 @@ public abstract class Series<T extends Item> {
 
     public int getNoOfItems() { return items.size(); }
 
-    public void dispose() { items.remove(itemListener); }
+    public void dispose() { items.removeListener(itemListener); }
 
     public void refresh() { fireSeriesEvent(UPDATE_EVENT); }
 
+    /**
+     * Starts a bulk update. Until the matching endUpdate() no UPDATE events are
+     * fired, they are folded into a single event fired by endUpdate().
+     * Updates can be nested, only the outermost endUpdate() fires.
+     */
+    public void beginUpdate() { updateDepth++; }
+    /**
+     * Ends a bulk update started with beginUpdate(). Fires one UPDATE event if
+     * anything changed in between.
+     */
+    public void endUpdate() {
+        if (0 == updateDepth) { throw new IllegalStateException("endUpdate() without beginUpdate()"); }
+        updateDepth--;
+        if (0 == updateDepth && updatePending) {
+            updatePending = false;
+            fireSeriesEvent(updateFinished());
+        }
+    }
+    public boolean isUpdating() { return updateDepth > 0; }
+    /**
+     * Runs ACTION as one bulk update, see beginUpdate().
+     */
+    public void batch(final Consumer<? super Series<T>> ACTION) {
+        beginUpdate();
+        try {
+            ACTION.accept(this);
+        } finally {
+            endUpdate();
+        }
+    }
+
+    /**
+     * Called when the outermost bulk update ends and UPDATE events were held
+     * back. Returns the event to fire in their place.
+     */
+    protected SeriesEvent updateFinished() { return UPDATE_EVENT; }
+
+    /**
+     * Called for every change of the items, before the series event is fired,
+     * so subclasses can bring state derived from the items up to date first.
+     */
+    protected void itemsChanged(final ListChangeListener.Change<? extends T> CHANGE) {}
+
 
     // ******************** Event handling ************************************
     public void setOnSeriesEvent(final SeriesEventListener LISTENER) { addSeriesEventListener(LISTENER); }
@@ -433,6 +485,10 @@ public abstract class Series<T extends Item> {
     public void removeSeriesEventListener(final SeriesEventListener LISTENER) { if (listeners.contains(LISTENER)) listeners.remove(LISTENER); }
 
     public void fireSeriesEvent(final SeriesEvent EVENT) {
+        if (updateDepth > 0 && EventType.UPDATE == EVENT.getEventType()) {
+            updatePending = true;
+            return;
+        }
         for (SeriesEventListener listener : listeners) { listener.onModelEvent(EVENT); }
     }
 }
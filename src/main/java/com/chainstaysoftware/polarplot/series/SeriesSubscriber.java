@@ -0,0 +1,129 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.data.XYItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+
+/**
+ * Flow.Subscriber that feeds the items it receives into a series, one batch
+ * per frame. Demand follows the display: batchSize items are requested up
+ * front and every frame requests as many as it appended, so a producer that
+ * outruns the rendering is held back instead of being buffered.
+ * Items may arrive on any thread, they are appended on the FX thread by a
+ * frame listener of the series, which is removed again on cancel(),
+ * completion or error.
+ */
+public class SeriesSubscriber<T extends XYItem> implements Flow.Subscriber<T> {
+    private          final XYSeries<T>       series;
+    private          final int               batchSize;
+    private          final Runnable          frameListener = this::frame;
+    private          final Object            lock          = new Object();
+    // received since the last frame, guarded by lock
+    private                List<T>           pending;
+    private                List<T>           appending;
+    private                Flow.Subscription subscription;
+    private                boolean           done;
+    private volatile       boolean           cancelled;
+    private volatile       Throwable         error;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Feeds SERIES with at most BATCH_SIZE items per frame.
+     */
+    public SeriesSubscriber(final XYSeries<T> SERIES, final int BATCH_SIZE) {
+        if (BATCH_SIZE < 1) { throw new IllegalArgumentException("Batch size must be positive: " + BATCH_SIZE); }
+        series    = Objects.requireNonNull(SERIES);
+        batchSize = BATCH_SIZE;
+        pending   = new ArrayList<>(BATCH_SIZE);
+        appending = new ArrayList<>(BATCH_SIZE);
+    }
+
+
+    // ******************** Methods *******************************************
+    @Override public void onSubscribe(final Flow.Subscription SUBSCRIPTION) {
+        Objects.requireNonNull(SUBSCRIPTION);
+        synchronized (lock) {
+            if (null != subscription || cancelled) {
+                // only one subscription at a time
+                SUBSCRIPTION.cancel();
+                return;
+            }
+            subscription = SUBSCRIPTION;
+            // under the lock, so a concurrent cancel() either sees the listener or prevents it
+            series.addFrameListener(frameListener);
+        }
+        SUBSCRIPTION.request(batchSize);
+    }
+
+    @Override public void onNext(final T ITEM) {
+        Objects.requireNonNull(ITEM);
+        final boolean first;
+        synchronized (lock) {
+            if (cancelled) { return; }
+            first = pending.isEmpty();
+            pending.add(ITEM);
+        }
+        if (first) { series.requestFrame(); }
+    }
+
+    @Override public void onError(final Throwable THROWABLE) {
+        error = Objects.requireNonNull(THROWABLE);
+        finish();
+    }
+
+    @Override public void onComplete() { finish(); }
+
+    /**
+     * Cancels the subscription and detaches from the series. Items received
+     * but not yet appended are discarded. Safe to call from any thread.
+     */
+    public void cancel() {
+        final Flow.Subscription current;
+        synchronized (lock) {
+            cancelled = true;
+            current   = subscription;
+            pending.clear();
+            series.removeFrameListener(frameListener);
+        }
+        if (null != current) { current.cancel(); }
+    }
+
+    public boolean isCancelled() { return cancelled; }
+
+    /**
+     * The error the publisher terminated with, null if none.
+     */
+    public Throwable getError() { return error; }
+
+    private void finish() {
+        synchronized (lock) { done = true; }
+        // the last batch is appended, and the listener removed, on the next frame
+        series.requestFrame();
+    }
+
+    private void frame() {
+        final boolean finished;
+        synchronized (lock) {
+            final List<T> received = pending;
+            pending   = appending;
+            appending = received;
+            finished  = done;
+        }
+        final int count = appending.size();
+        try {
+            if (count > 0 && !cancelled) { series.appendAll(appending); }
+        } finally {
+            appending.clear();
+        }
+        if (finished || cancelled) {
+            series.removeFrameListener(frameListener);
+        } else if (count > 0) {
+            subscription.request(count);
+        }
+    }
+}
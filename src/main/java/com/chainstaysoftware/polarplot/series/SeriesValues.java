@@ -0,0 +1,171 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.IntToDoubleFunction;
+
+
+/**
+ * Primitive (x, y) values of a series with running statistics. Sums and
+ * extremes are updated with every change, so the getters are O(1). Removing
+ * or lowering a current extreme only marks the extremes stale, they are
+ * rescanned once on the next read.
+ */
+final class SeriesValues {
+    private double[] xs            = new double[16];
+    private double[] ys            = new double[16];
+    private int      size;
+    private double   sumX;
+    private double   sumY;
+    private double   minX;
+    private double   maxX;
+    private double   minY;
+    private double   maxY;
+    private boolean  extremesValid = true;
+
+
+    // ******************** Methods *******************************************
+    int size() { return size; }
+
+    double getX(final int INDEX) { return xs[Objects.checkIndex(INDEX, size)]; }
+    double getY(final int INDEX) { return ys[Objects.checkIndex(INDEX, size)]; }
+
+    /**
+     * Replaces all values.
+     */
+    void setAll(final int COUNT, final IntToDoubleFunction X, final IntToDoubleFunction Y) {
+        size = 0;
+        ensureCapacity(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            xs[i] = X.applyAsDouble(i);
+            ys[i] = Y.applyAsDouble(i);
+        }
+        size = COUNT;
+        rescan();
+    }
+
+    /**
+     * Inserts COUNT values at INDEX, X and Y are called with 0 .. COUNT - 1.
+     */
+    void insert(final int INDEX, final int COUNT, final IntToDoubleFunction X, final IntToDoubleFunction Y) {
+        Objects.checkIndex(INDEX, size + 1);
+        ensureCapacity(size + COUNT);
+        System.arraycopy(xs, INDEX, xs, INDEX + COUNT, size - INDEX);
+        System.arraycopy(ys, INDEX, ys, INDEX + COUNT, size - INDEX);
+        for (int i = 0; i < COUNT; i++) {
+            final double newX = X.applyAsDouble(i);
+            final double newY = Y.applyAsDouble(i);
+            xs[INDEX + i] = newX;
+            ys[INDEX + i] = newY;
+            added(newX, newY, 0 == size + i);
+        }
+        size += COUNT;
+    }
+
+    /**
+     * Removes COUNT values starting at INDEX.
+     */
+    void remove(final int INDEX, final int COUNT) {
+        Objects.checkFromIndexSize(INDEX, COUNT, size);
+        for (int i = INDEX; i < INDEX + COUNT; i++) { removed(xs[i], ys[i]); }
+        System.arraycopy(xs, INDEX + COUNT, xs, INDEX, size - INDEX - COUNT);
+        System.arraycopy(ys, INDEX + COUNT, ys, INDEX, size - INDEX - COUNT);
+        size -= COUNT;
+        if (0 == size) { rescan(); }
+    }
+
+    void set(final int INDEX, final double X, final double Y) {
+        Objects.checkIndex(INDEX, size);
+        removed(xs[INDEX], ys[INDEX]);
+        xs[INDEX] = X;
+        ys[INDEX] = Y;
+        added(X, Y, false);
+    }
+
+    double getMinX() { checkExtremes(); return minX; }
+    double getMaxX() { checkExtremes(); return maxX; }
+
+    double getMinY() { checkExtremes(); return minY; }
+    double getMaxY() { checkExtremes(); return maxY; }
+
+    double getSumX() { return sumX; }
+    double getSumY() { return sumY; }
+
+    void copyTo(final PointBuffer TARGET) { copyTo(0, size, TARGET); }
+    /**
+     * Copies the values from FROM (inclusive) to TO (exclusive) into TARGET,
+     * replacing its content.
+     */
+    void copyTo(final int FROM, final int TO, final PointBuffer TARGET) {
+        Objects.checkFromToIndex(FROM, TO, size);
+        TARGET.clear();
+        TARGET.ensureCapacity(TO - FROM);
+        System.arraycopy(xs, FROM, TARGET.getXs(), 0, TO - FROM);
+        System.arraycopy(ys, FROM, TARGET.getYs(), 0, TO - FROM);
+        TARGET.setSize(TO - FROM);
+    }
+
+    private void added(final double X, final double Y, final boolean FIRST) {
+        sumX += X;
+        sumY += Y;
+        if (FIRST) {
+            minX          = maxX = X;
+            minY          = maxY = Y;
+            extremesValid = true;
+            return;
+        }
+        minX = Math.min(minX, X);
+        maxX = Math.max(maxX, X);
+        minY = Math.min(minY, Y);
+        maxY = Math.max(maxY, Y);
+    }
+
+    private void removed(final double X, final double Y) {
+        sumX -= X;
+        sumY -= Y;
+        if (X <= minX || X >= maxX || Y <= minY || Y >= maxY) { extremesValid = false; }
+    }
+
+    private void checkExtremes() {
+        if (0 == size) { throw new NoSuchElementException(); }
+        if (!extremesValid) { rescan(); }
+    }
+
+    /**
+     * Recomputes extremes and sums from scratch, which also drops the rounding
+     * error the running sums pick up over time.
+     */
+    private void rescan() {
+        double sumX = 0;
+        double sumY = 0;
+        double minX = size > 0 ? xs[0] : 0;
+        double maxX = minX;
+        double minY = size > 0 ? ys[0] : 0;
+        double maxY = minY;
+        for (int i = 0; i < size; i++) {
+            sumX += xs[i];
+            sumY += ys[i];
+            minX  = Math.min(minX, xs[i]);
+            maxX  = Math.max(maxX, xs[i]);
+            minY  = Math.min(minY, ys[i]);
+            maxY  = Math.max(maxY, ys[i]);
+        }
+        this.sumX     = sumX;
+        this.sumY     = sumY;
+        this.minX     = minX;
+        this.maxX     = maxX;
+        this.minY     = minY;
+        this.maxY     = maxY;
+        extremesValid = true;
+    }
+
+    private void ensureCapacity(final int CAPACITY) {
+        if (CAPACITY <= xs.length) { return; }
+        final int newCapacity = Math.max(CAPACITY, xs.length + (xs.length >> 1));
+        xs = Arrays.copyOf(xs, newCapacity);
+        ys = Arrays.copyOf(ys, newCapacity);
+    }
+}
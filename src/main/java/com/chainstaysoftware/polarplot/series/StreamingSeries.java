@@ -0,0 +1,163 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.Symbol;
+import com.chainstaysoftware.polarplot.data.Item;
+import com.chainstaysoftware.polarplot.data.XYItem;
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ * Series for live feeds that keeps the last CAPACITY samples in a primitive
+ * ring buffer. Appending is O(1) and does not allocate, once the buffer is
+ * full every append evicts the oldest sample. Fill, stroke and symbol are
+ * taken from the series, getItems() is always empty and cannot be modified.
+ * The samples are handed to XYPane as the two contiguous segments of the
+ * ring, oldest first.
+ */
+public class StreamingSeries<T extends XYItem> extends XYSeries<T> {
+    private          final RingValues       ring;
+    private          final boolean          growable;
+    private          final SampleQueue.Sink appender = this::append;
+    private volatile       SampleQueue      ingestQueue;
+
+
+    // ******************** Constructors **************************************
+    public StreamingSeries(final int CAPACITY, final ChartType TYPE) {
+        this(CAPACITY, TYPE, "", Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, false);
+    }
+    public StreamingSeries(final int CAPACITY, final ChartType TYPE, final String NAME) {
+        this(CAPACITY, TYPE, NAME, Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, false);
+    }
+    public StreamingSeries(final int CAPACITY, final ChartType TYPE, final String NAME, final Paint FILL, final Paint STROKE, final Symbol SYMBOL, final boolean SYMBOLS_VISIBLE) {
+        this(CAPACITY, false, TYPE, NAME, FILL, STROKE, SYMBOL, SYMBOLS_VISIBLE);
+    }
+    // a growable series grows when full instead of evicting the oldest sample
+    StreamingSeries(final int CAPACITY, final boolean GROWABLE, final ChartType TYPE, final String NAME, final Paint FILL, final Paint STROKE, final Symbol SYMBOL, final boolean SYMBOLS_VISIBLE) {
+        super(null, TYPE, NAME, FILL, STROKE, SYMBOL, SYMBOLS_VISIBLE);
+        ring     = new RingValues(CAPACITY);
+        growable = GROWABLE;
+    }
+
+
+    // ******************** Methods *******************************************
+    public int getCapacity() { return ring.capacity(); }
+
+    /**
+     * Empty and unmodifiable, samples are added with append() or appendAll().
+     */
+    @Override public ObservableList<T> getItems() { return FXCollections.emptyObservableList(); }
+    // XYSeries extends the raw Series, so these match its erased setters
+    @Override public void setItems(final Collection ITEMS) { throw noItems(); }
+    @Override public void setItems(final Item... ITEMS) { throw noItems(); }
+    @Override public void setItems(final List ITEMS) { throw noItems(); }
+
+    /**
+     * Appends a sample, evicting the oldest one if the series is full.
+     */
+    public void append(final double THETA, final double R) {
+        final int index = ring.size();
+        if (growable) { ring.ensureCapacity(index + 1); }
+        if (ring.add(THETA, R)) {
+            // every sample moved down by one
+            dataChanged();
+        } else {
+            dataChanged(index, 0, 1);
+        }
+    }
+
+    /**
+     * Thread-safe queue any thread can push samples to without going through
+     * Platform.runLater(). Created on first use, it holds as many samples as
+     * the series. XYPane appends the queued samples once per pulse, as one
+     * update.
+     */
+    public SampleQueue getIngestQueue() {
+        SampleQueue queue = ingestQueue;
+        if (null == queue) {
+            synchronized (this) {
+                queue = ingestQueue;
+                if (null == queue) {
+                    queue       = new SampleQueue(getCapacity(), this::requestFrame);
+                    ingestQueue = queue;
+                }
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Appends the samples waiting in the ingest queue, on the FX thread, and
+     * returns their number.
+     */
+    public int drainIngestQueue() {
+        final SampleQueue queue = ingestQueue;
+        if (null == queue || queue.isEmpty()) { return 0; }
+        beginUpdate();
+        try {
+            return queue.drain(appender);
+        } finally {
+            endUpdate();
+        }
+    }
+
+    /**
+     * Appends the x (theta) and y (r) values of ITEMS as one update.
+     */
+    @Override public void appendAll(final List<? extends T> ITEMS) {
+        beginUpdate();
+        try {
+            for (T item : ITEMS) { append(item.getX(), item.getY()); }
+        } finally {
+            endUpdate();
+        }
+    }
+
+    @Override public void beforeFrame() {
+        drainIngestQueue();
+        super.beforeFrame();
+    }
+
+    /**
+     * Removes the COUNT oldest samples.
+     */
+    public void removeOldest(final int COUNT) {
+        if (0 == COUNT) { return; }
+        ring.removeOldest(COUNT);
+        dataChanged(0, COUNT, 0);
+    }
+
+    /**
+     * Removes all samples.
+     */
+    public void clear() {
+        ring.clear();
+        dataChanged();
+    }
+
+    @Override public double getTheta(final int INDEX) { return ring.getX(INDEX); }
+    @Override public double getR(final int INDEX) { return ring.getY(INDEX); }
+
+    @Override public int getNoOfItems() { return ring.size(); }
+
+    @Override public double getMinX() { return ring.getMinX(); }
+    @Override public double getMaxX() { return ring.getMaxX(); }
+
+    @Override public double getMinY() { return ring.getMinY(); }
+    @Override public double getMaxY() { return ring.getMaxY(); }
+
+    @Override public double getSumOfXValues() { return ring.getSumX(); }
+    @Override public double getSumOfYValues() { return ring.getSumY(); }
+
+    @Override public void copyValuesTo(final PointBuffer TARGET) { ring.copyTo(0, ring.size(), TARGET); }
+    @Override public void copyValuesTo(final int FROM, final int TO, final PointBuffer TARGET) { ring.copyTo(FROM, TO, TARGET); }
+
+    private static UnsupportedOperationException noItems() { return new UnsupportedOperationException("StreamingSeries keeps no items, use append()"); }
+}
@@ -0,0 +1,229 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.Symbol;
+import com.chainstaysoftware.polarplot.data.ChartItem;
+import com.chainstaysoftware.polarplot.data.XYItem;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Series that only keeps the samples of the last WINDOW, for displays that
+ * run around the clock. Every sample carries a timestamp, the samples are
+ * kept in timestamp order and the ones that fell out of the window are
+ * removed together once per frame. Min and max of the window are updated
+ * incrementally, the storage grows with the number of samples in the window.
+ * Samples appended without a timestamp are stamped with the clock of the
+ * series. When no new samples arrive the series only asks for a frame once
+ * its oldest sample expires.
+ */
+public class WindowedSeries<T extends XYItem> extends StreamingSeries<T> {
+    private static final int                      INITIAL_CAPACITY = 1024;
+    // epoch nanos of the samples, oldest at head
+    private              long[]                   timestamps       = new long[INITIAL_CAPACITY];
+    private              int                      head;
+    private              int                      size;
+    private              Clock                    clock            = Clock.systemUTC();
+    private              Duration                 _window;
+    private              ObjectProperty<Duration> window;
+    // frame request scheduled for the expiry of the oldest sample, at wakeUpAt epoch nanos
+    private              ScheduledFuture<?>       wakeUp;
+    private              long                     wakeUpAt;
+
+
+    // ******************** Constructors **************************************
+    public WindowedSeries(final Duration WINDOW, final ChartType TYPE) {
+        this(WINDOW, TYPE, "", Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, false);
+    }
+    public WindowedSeries(final Duration WINDOW, final ChartType TYPE, final String NAME) {
+        this(WINDOW, TYPE, NAME, Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, false);
+    }
+    public WindowedSeries(final Duration WINDOW, final ChartType TYPE, final String NAME, final Paint FILL, final Paint STROKE, final Symbol SYMBOL, final boolean SYMBOLS_VISIBLE) {
+        super(INITIAL_CAPACITY, true, TYPE, NAME, FILL, STROKE, SYMBOL, SYMBOLS_VISIBLE);
+        _window = checkWindow(WINDOW);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * How long samples are kept, measured from the time of the clock.
+     */
+    public Duration getWindow() { return null == window ? _window : window.get(); }
+    public void setWindow(final Duration WINDOW) {
+        if (null == window) {
+            _window = checkWindow(WINDOW);
+            requestFrame();
+        } else {
+            window.set(checkWindow(WINDOW));
+        }
+    }
+    public ObjectProperty<Duration> windowProperty() {
+        if (null == window) {
+            window = new ObjectPropertyBase<Duration>(_window) {
+                @Override protected void invalidated() { requestFrame(); }
+                @Override public Object getBean() { return WindowedSeries.this; }
+                @Override public String getName() { return "window"; }
+            };
+            _window = null;
+        }
+        return window;
+    }
+
+    public Clock getClock() { return clock; }
+    public void setClock(final Clock CLOCK) { clock = Objects.requireNonNull(CLOCK); }
+
+    /**
+     * Appends a sample stamped with the current time of the clock.
+     */
+    @Override public void append(final double THETA, final double R) { append(THETA, R, clock.instant()); }
+    /**
+     * Appends a sample. Timestamps have to be in order, a timestamp older than
+     * the newest sample is taken as the timestamp of the newest sample.
+     */
+    public void append(final double THETA, final double R, final Instant TIMESTAMP) {
+        final long timestamp = toNanos(TIMESTAMP);
+        if (size == timestamps.length) { growTimestamps(); }
+        timestamps[slot(size)] = size > 0 ? Math.max(timestamp, timestamps[slot(size - 1)]) : timestamp;
+        size++;
+        super.append(THETA, R);
+    }
+    /**
+     * Appends the value and timestamp of ITEM at angle THETA.
+     */
+    public void append(final double THETA, final ChartItem ITEM) { append(THETA, ITEM.getValue(), ITEM.getTimestamp()); }
+
+    /**
+     * Timestamp of the sample at INDEX, oldest first.
+     */
+    public Instant getTimestamp(final int INDEX) { return toInstant(timestamps[slot(Objects.checkIndex(INDEX, size))]); }
+
+    /**
+     * Time at which the oldest sample leaves the window, null if the series is
+     * empty.
+     */
+    public Instant getNextExpiry() { return 0 == size ? null : toInstant(nextExpiry()); }
+
+    @Override public void removeOldest(final int COUNT) {
+        super.removeOldest(COUNT);
+        head  = (head + COUNT) % timestamps.length;
+        size -= COUNT;
+    }
+
+    @Override public void clear() {
+        head = 0;
+        size = 0;
+        cancelWakeUp();
+        super.clear();
+    }
+
+    /**
+     * Removes all samples older than the window, in one change, and returns
+     * their number. Runs on every frame.
+     */
+    public int expire() {
+        final long cutoff = toNanos(clock.instant()) - windowNanos();
+        int count = 0;
+        while (count < size && timestamps[slot(count)] < cutoff) { count++; }
+        removeOldest(count);
+        return count;
+    }
+
+    /**
+     * Takes in new samples and expires old ones with a single event. Then
+     * schedules a frame request for the expiry of the oldest sample left, so
+     * it expires on time even if no new samples arrive.
+     */
+    @Override public void beforeFrame() {
+        beginUpdate();
+        try {
+            super.beforeFrame();
+            expire();
+        } finally {
+            endUpdate();
+        }
+        scheduleWakeUp();
+    }
+
+    private void scheduleWakeUp() {
+        if (0 == size) {
+            cancelWakeUp();
+            return;
+        }
+        final long expiry = nextExpiry();
+        // a pending earlier wake-up reschedules when it fires
+        if (null != wakeUp && !wakeUp.isDone() && wakeUpAt <= expiry) { return; }
+        cancelWakeUp();
+        // the sample expires once the clock is past its expiry
+        final long delay = Math.max(0, expiry - toNanos(clock.instant())) + 1;
+        wakeUpAt = expiry;
+        wakeUp   = WakeUps.EXECUTOR.schedule(this::requestFrame, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void cancelWakeUp() {
+        if (null == wakeUp) { return; }
+        wakeUp.cancel(false);
+        wakeUp = null;
+    }
+
+    private long nextExpiry() {
+        final long oldest = timestamps[head];
+        final long window = windowNanos();
+        return oldest > Long.MAX_VALUE - window ? Long.MAX_VALUE : oldest + window;
+    }
+
+    private int slot(final int INDEX) {
+        final int slot = head + INDEX;
+        return slot >= timestamps.length ? slot - timestamps.length : slot;
+    }
+
+    private void growTimestamps() {
+        final long[] grown = new long[timestamps.length + (timestamps.length >> 1)];
+        final int    first = Math.min(size, timestamps.length - head);
+        System.arraycopy(timestamps, head, grown, 0, first);
+        System.arraycopy(timestamps, 0, grown, first, size - first);
+        timestamps = grown;
+        head       = 0;
+    }
+
+    private long windowNanos() {
+        final Duration window = getWindow();
+        return window.getSeconds() >= Long.MAX_VALUE / 1_000_000_000L ? Long.MAX_VALUE : window.toNanos();
+    }
+
+    private static long toNanos(final Instant INSTANT) { return INSTANT.getEpochSecond() * 1_000_000_000L + INSTANT.getNano(); }
+
+    private static Instant toInstant(final long NANOS) { return Instant.ofEpochSecond(0, NANOS); }
+
+    private static Duration checkWindow(final Duration WINDOW) {
+        if (WINDOW.isNegative() || WINDOW.isZero()) { throw new IllegalArgumentException("Window must be positive: " + WINDOW); }
+        return WINDOW;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    // one daemon thread runs the wake-ups of all windowed series, created on first use
+    private static final class WakeUps {
+        private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+        private static ScheduledThreadPoolExecutor createExecutor() {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, RUNNABLE -> {
+                final Thread thread = new Thread(RUNNABLE, "WindowedSeries wake-up");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
@@ -16,21 +16,65 @@
 
 package com.chainstaysoftware.polarplot.series;
 
+import com.chainstaysoftware.polarplot.data.XYChartItem;
 import com.chainstaysoftware.polarplot.data.XYItem;
 import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.Decimation;
 import com.chainstaysoftware.polarplot.Symbol;
+import com.chainstaysoftware.polarplot.event.EventType;
+import com.chainstaysoftware.polarplot.event.ItemEventListener;
+import com.chainstaysoftware.polarplot.event.SeriesEvent;
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
  * Created by hansolo on 16.07.17.
  */
 public class XYSeries<T extends XYItem> extends Series {
+    private static final int                   CHANGE_LOG_SIZE   = 64;
+    private        final int[]                 changeFrom        = new int[CHANGE_LOG_SIZE];
+    private        final int[]                 changeRemoved     = new int[CHANGE_LOG_SIZE];
+    private        final int[]                 changeAdded       = new int[CHANGE_LOG_SIZE];
+    private              long                  version;
+    // changes made during a bulk update, logged as one when it ends
+    private        final int[]                 batchRange        = { Integer.MAX_VALUE, Integer.MIN_VALUE };
+    private              int                   batchDelta;
+    private              boolean               batchReset;
+    private        final Set<XYItem>           batchItems        = Collections.newSetFromMap(new IdentityHashMap<>());
+    // primitive copy of the item values with running min/max/sum
+    final                SeriesValues          values            = new SeriesValues();
+    private              Decimation            _decimation       = Decimation.NONE;
+    private              ObjectProperty<Decimation> decimation;
+    private     volatile Runnable              frameRequest;
+    private        final List<Runnable>        frameListeners    = new CopyOnWriteArrayList<>();
+    private        final ItemEventListener     itemEventListener = EVENT -> {
+        if (isUpdating()) {
+            // looked up in one pass over the items when the update ends
+            batchItems.add((XYItem) EVENT.getItem());
+            refresh();
+            return;
+        }
+        final int index = getItems().indexOf(EVENT.getItem());
+        if (index < 0 || index != getItems().lastIndexOf(EVENT.getItem())) {
+            syncValues();
+            dataChanged();
+        } else {
+            values.set(index, getItems().get(index).getX(), getItems().get(index).getY());
+            dataChanged(index, 1, 1);
+        }
+    };
 
     // ******************** Constructors **************************************
     public XYSeries() {
@@ -57,21 +101,264 @@ public class XYSeries<T extends XYItem> extends Series {
     public XYSeries(final List<T> ITEMS, final ChartType TYPE, final String NAME, final Paint FILL, final Paint STROKE, final Symbol SYMBOL, final boolean SYMBOLS_VISIBLE) {
         super(ITEMS, TYPE, NAME, FILL, STROKE, SYMBOL);
         setSymbolsVisible(SYMBOLS_VISIBLE);
+        getItems().forEach(this::attach);
+        syncValues();
     }
 
 
     // ******************** Methods *******************************************
     @Override public ObservableList<T> getItems() { return items; }
 
-    public double getMinX() { return getItems().stream().min(Comparator.comparingDouble(T::getX)).get().getX(); }
-    public double getMaxX() { return getItems().stream().max(Comparator.comparingDouble(T::getX)).get().getX(); }
+    /**
+     * How the on-screen polyline of the series is decimated before it is drawn,
+     * NONE by default. Worth enabling for series with many more interpolated
+     * vertices than the plot has pixels.
+     */
+    public Decimation getDecimation() { return null == decimation ? _decimation : decimation.get(); }
+    public void setDecimation(final Decimation DECIMATION) {
+        if (null == decimation) {
+            _decimation = DECIMATION;
+            refresh();
+        } else {
+            decimation.set(DECIMATION);
+        }
+    }
+    public ObjectProperty<Decimation> decimationProperty() {
+        if (null == decimation) {
+            decimation = new ObjectPropertyBase<Decimation>(_decimation) {
+                @Override protected void invalidated() { refresh(); }
+                @Override public Object getBean() { return XYSeries.this; }
+                @Override public String getName() { return "decimation"; }
+            };
+            _decimation = null;
+        }
+        return decimation;
+    }
+
+    /**
+     * Called by XYPane once per pulse on the FX thread, before the series is
+     * drawn. Series that buffer data from other threads or expire data bring
+     * themselves up to date here. Runs the frame listeners by default.
+     */
+    public void beforeFrame() {
+        for (Runnable listener : frameListeners) { listener.run(); }
+    }
+
+    /**
+     * Adds a listener run on every beforeFrame(), e.g. to feed the series
+     * once per frame.
+     */
+    public void addFrameListener(final Runnable LISTENER) { if (!frameListeners.contains(LISTENER)) frameListeners.add(LISTENER); }
+    public void removeFrameListener(final Runnable LISTENER) { frameListeners.remove(LISTENER); }
+
+    /**
+     * Sets the callback the series runs, on any thread, when it needs a
+     * beforeFrame() call without having fired an event, null for none. XYPane
+     * sets it while the series is shown and uses it to schedule a pulse.
+     */
+    public void setOnFrameRequest(final Runnable REQUEST) { frameRequest = REQUEST; }
+    protected void requestFrame() {
+        final Runnable request = frameRequest;
+        if (null != request) { request.run(); }
+    }
+
+    /**
+     * Modification counter of the series data. Incremented whenever items are
+     * added, removed or replaced and whenever an item changes, so renderers can
+     * tell whether cached geometry is still valid. A bulk update counts as a
+     * single change.
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * Appends ITEMS to the end of the series with a single event.
+     */
+    public void appendAll(final List<? extends T> ITEMS) { getItems().addAll(ITEMS); }
+
+    /**
+     * Marks the data of the series as changed and notifies the listeners.
+     * Renderers have to rebuild everything they derived from the series.
+     */
+    protected void dataChanged() {
+        logChange(-1, 0, 0);
+        refresh();
+    }
+    /**
+     * Marks REMOVED items starting at FROM as replaced by ADDED items and
+     * notifies the listeners. Renderers only have to rebuild around that range.
+     */
+    protected void dataChanged(final int FROM, final int REMOVED, final int ADDED) {
+        logChange(FROM, REMOVED, ADDED);
+        refresh();
+    }
+
+    /**
+     * Items changed during a bulk update are only looked up, and their values
+     * only picked up, when the update ends. The consolidated event carries the
+     * range of items that changed, or 0 to the item count if everything has to
+     * be rebuilt.
+     */
+    @Override protected SeriesEvent updateFinished() {
+        if (!batchItems.isEmpty()) {
+            final List<T> items = getItems();
+            for (int i = 0 ; i < items.size() ; i++) {
+                final T item = items.get(i);
+                if (batchItems.contains(item)) {
+                    values.set(i, item.getX(), item.getY());
+                    foldChange(batchRange, i, 1, 1);
+                }
+            }
+            batchItems.clear();
+        }
+        final boolean reset = batchReset;
+        final int     lo    = batchRange[0];
+        final int     hi    = batchRange[1];
+        final int     delta = batchDelta;
+        batchRange[0] = Integer.MAX_VALUE;
+        batchRange[1] = Integer.MIN_VALUE;
+        batchDelta    = 0;
+        batchReset    = false;
+
+        if (reset) {
+            logChange(-1, 0, 0);
+            return new SeriesEvent(this, EventType.UPDATE, 0, getNoOfItems());
+        }
+        if (lo > hi) { return UPDATE_EVENT; }
+        logChange(lo, hi - lo - delta, hi - lo);
+        return new SeriesEvent(this, EventType.UPDATE, lo, hi);
+    }
+
+    /**
+     * Computes the item range that changed since VERSION, in current indices.
+     * On success RANGE[0] (inclusive) and RANGE[1] (exclusive) bound every item
+     * that was added or modified since then; items before RANGE[0] are untouched
+     * and items from RANGE[1] on are untouched but shifted by the difference in
+     * item count. The range is empty for pure removals.
+     * Returns false if the changes since VERSION are no longer known or touched
+     * the whole series, in which case everything has to be rebuilt.
+     */
+    public boolean getChangedRange(final long VERSION, final int[] RANGE) {
+        if (VERSION < 0 || VERSION > version || version - VERSION > CHANGE_LOG_SIZE) { return false; }
+        RANGE[0] = Integer.MAX_VALUE;
+        RANGE[1] = Integer.MIN_VALUE;
+        for (long v = VERSION + 1 ; v <= version ; v++) {
+            final int slot = (int) (v % CHANGE_LOG_SIZE);
+            if (changeFrom[slot] < 0) { return false; }
+            foldChange(RANGE, changeFrom[slot], changeRemoved[slot], changeAdded[slot]);
+        }
+        if (RANGE[0] > RANGE[1]) {
+            RANGE[0] = 0;
+            RANGE[1] = 0;
+        }
+        return true;
+    }
 
-    public double getMinY() { return getItems().stream().min(Comparator.comparingDouble(T::getY)).get().getY(); }
-    public double getMaxY() { return getItems().stream().max(Comparator.comparingDouble(T::getY)).get().getY(); }
+    // Maps the range RANGE[0] .. RANGE[1] through a change of REMOVED items at FROM
+    // replaced by ADDED items and extends it by the added items, RANGE[0] > RANGE[1] is empty
+    private static void foldChange(final int[] RANGE, final int FROM, final int REMOVED, final int ADDED) {
+        int lo = RANGE[0];
+        int hi = RANGE[1];
+        if (lo <= hi) {
+            final int delta = ADDED - REMOVED;
+            lo = lo < FROM ? lo : (lo >= FROM + REMOVED ? lo + delta : FROM);
+            hi = hi <= FROM ? hi : (hi >= FROM + REMOVED ? hi + delta : FROM + ADDED);
+            lo = Math.min(lo, FROM);
+            hi = Math.max(hi, FROM + ADDED);
+        } else {
+            lo = FROM;
+            hi = FROM + ADDED;
+        }
+        RANGE[0] = lo;
+        RANGE[1] = hi;
+    }
+
+    /**
+     * The theta (x) value of the item at INDEX.
+     */
+    public double getTheta(final int INDEX) { return values.getX(INDEX); }
+    /**
+     * The r (y) value of the item at INDEX.
+     */
+    public double getR(final int INDEX) { return values.getY(INDEX); }
+
+    @Override public int getNoOfItems() { return values.size(); }
+
+    // Statistics are kept up to date with every change, the getters are O(1)
+    public double getMinX() { return values.getMinX(); }
+    public double getMaxX() { return values.getMaxX(); }
+
+    public double getMinY() { return values.getMinY(); }
+    public double getMaxY() { return values.getMaxY(); }
 
     public double getRangeX() { return getMaxX() - getMinX(); }
     public double getRangeY() { return getMaxY() - getMinY(); }
 
-    public double getSumOfXValues() { return getItems().stream().mapToDouble(T::getX).sum(); }
-    public double getSumOfYValues() { return getItems().stream().mapToDouble(T::getY).sum(); }
+    public double getSumOfXValues() { return values.getSumX(); }
+    public double getSumOfYValues() { return values.getSumY(); }
+
+    @Override public void dispose() {
+        super.dispose();
+        getItems().forEach(this::detach);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override protected void itemsChanged(final ListChangeListener.Change CHANGE) {
+        final List<T> items = getItems();
+        while (CHANGE.next()) {
+            final int from = CHANGE.getFrom();
+            final int to   = CHANGE.getTo();
+            if (CHANGE.wasPermutated() || CHANGE.wasUpdated()) {
+                for (int i = from ; i < to ; i++) { values.set(i, items.get(i).getX(), items.get(i).getY()); }
+                logChange(from, to - from, to - from);
+            } else {
+                ((List<T>) CHANGE.getRemoved()).forEach(this::detach);
+                values.remove(from, CHANGE.getRemovedSize());
+                if (CHANGE.wasAdded()) {
+                    ((List<T>) CHANGE.getAddedSubList()).forEach(this::attach);
+                    values.insert(from, CHANGE.getAddedSize(), i -> items.get(from + i).getX(), i -> items.get(from + i).getY());
+                }
+                logChange(from, CHANGE.getRemovedSize(), CHANGE.getAddedSize());
+            }
+        }
+    }
+
+    private void logChange(final int FROM, final int REMOVED, final int ADDED) {
+        if (isUpdating()) {
+            if (FROM < 0) {
+                batchReset = true;
+            } else {
+                foldChange(batchRange, FROM, REMOVED, ADDED);
+                batchDelta += ADDED - REMOVED;
+            }
+            return;
+        }
+        version++;
+        final int slot = (int) (version % CHANGE_LOG_SIZE);
+        changeFrom[slot]    = FROM;
+        changeRemoved[slot] = REMOVED;
+        changeAdded[slot]   = ADDED;
+    }
+
+    private void attach(final T ITEM) {
+        if (ITEM instanceof XYChartItem) { ((XYChartItem) ITEM).addItemEventListener(itemEventListener); }
+    }
+    private void detach(final T ITEM) {
+        if (ITEM instanceof XYChartItem) { ((XYChartItem) ITEM).removeItemEventListener(itemEventListener); }
+    }
+
+    /**
+     * Copies the x (theta) and y (r) values of all items into TARGET, replacing its content.
+     * This is what XYPane renders from.
+     */
+    public void copyValuesTo(final PointBuffer TARGET) { values.copyTo(TARGET); }
+    /**
+     * Copies the x (theta) and y (r) values of the items FROM (inclusive) to TO (exclusive)
+     * into TARGET, replacing its content.
+     */
+    public void copyValuesTo(final int FROM, final int TO, final PointBuffer TARGET) { values.copyTo(FROM, TO, TARGET); }
+
+    private void syncValues() {
+        final List<T> items = getItems();
+        values.setAll(items.size(), i -> items.get(i).getX(), i -> items.get(i).getY());
+    }
 }
@@ -11,41 +11,46 @@
  */
 package com.chainstaysoftware.polarplot.tools;
 
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
 
 public final class FormatAngle {
-   private static final Double EPSILON = .001;
+   private static final double EPSILON = .001;
    private static final String PI = "\u03C0";
-   private static final Map<Double, String> radiansTable;
+   private static final double RADIAN_STEP = Math.toRadians(15);
+   // label of k * 15 degrees at index k, for k in 0..24
+   private static final String[] radianLabels = {
+      "0",
+      PI + "/12",
+      PI + "/6",
+      PI + "/4",
+      PI + "/3",
+      "5" + PI + "/12",
+      PI + "/2",
+      "7" + PI + "/12",
+      "2" + PI + "/3",
+      "3" + PI + "/4",
+      "5" + PI + "/6",
+      "11" + PI + "/12",
+      PI,
+      "13" + PI + "/12",
+      "7" + PI + "/6",
+      "5" + PI + "/4",
+      "4" + PI + "/3",
+      "17" + PI + "/12",
+      "3" + PI + "/2",
+      "19" + PI + "/12",
+      "5" + PI + "/3",
+      "7" + PI + "/4",
+      "11" + PI + "/6",
+      "23" + PI + "/12",
+      "0"
+   };
+   // label of k degrees at index k, for k in 0..360
+   private static final String[] degreeLabels = new String[361];
    static {
-      radiansTable = new HashMap<>();
-      radiansTable.put(0.0, "0");
-      radiansTable.put(Math.toRadians(15), PI + "/12");
-      radiansTable.put(Math.toRadians(30), PI + "/6");
-      radiansTable.put(Math.toRadians(45), PI + "/4");
-      radiansTable.put(Math.toRadians(60), PI + "/3");
-      radiansTable.put(Math.toRadians(75), "5" + PI + "/12");
-      radiansTable.put(Math.toRadians(90), PI + "/2");
-      radiansTable.put(Math.toRadians(105), "7" + PI + "/12");
-      radiansTable.put(Math.toRadians(120), "2" + PI + "/3");
-      radiansTable.put(Math.toRadians(135), "3" + PI + "/4");
-      radiansTable.put(Math.toRadians(150), "5" + PI + "/6");
-      radiansTable.put(Math.toRadians(165), "11" + PI + "/12");
-      radiansTable.put(Math.toRadians(180), PI);
-      radiansTable.put(Math.toRadians(195), "13" + PI + "/12");
-      radiansTable.put(Math.toRadians(210), "7" + PI + "/6");
-      radiansTable.put(Math.toRadians(225), "5" + PI + "/4");
-      radiansTable.put(Math.toRadians(240), "4" + PI + "/3");
-      radiansTable.put(Math.toRadians(255), "17" + PI + "/12");
-      radiansTable.put(Math.toRadians(270), "3" + PI + "/2");
-      radiansTable.put(Math.toRadians(285), "19" + PI + "/12");
-      radiansTable.put(Math.toRadians(300), "5" + PI + "/3");
-      radiansTable.put(Math.toRadians(315), "7" + PI + "/4");
-      radiansTable.put(Math.toRadians(330), "11" + PI + "/6");
-      radiansTable.put(Math.toRadians(345), "23" + PI + "/12");
-      radiansTable.put(Math.toRadians(360), "0");
+      for (int k = 0; k < degreeLabels.length; k++) {
+         degreeLabels[k] = Integer.toString(k);
+      }
    }
 
    private FormatAngle() {}
@@ -54,15 +59,24 @@ public final class FormatAngle {
                                final boolean isRadians) {
       return isRadians
          ? formatRadian(angle)
-         : String.format(Locale.US, "%.0f", angle);
+         : formatDegree(angle);
+   }
+
+   private static String formatDegree(final double angle) {
+      // for angle >= 0, Math.round rounds like %.0f (half up)
+      if (angle >= 0 && angle < degreeLabels.length - 0.5) {
+         return degreeLabels[(int) Math.round(angle)];
+      }
+      return String.format(Locale.US, "%.0f", angle);
    }
 
    private static String formatRadian(final double angle) {
-      return radiansTable.entrySet()
-         .stream()
-         .filter(entry -> Helper.epsilonEquals(angle, entry.getKey(), EPSILON))
-         .findFirst()
-         .map(Map.Entry::getValue)
-         .orElseGet(() -> String.format(Locale.US, "%.2f", angle));
+      // only the nearest multiple of 15 degrees can be within EPSILON
+      final long index = Math.round(angle / RADIAN_STEP);
+      if (index >= 0 && index < radianLabels.length
+         && Helper.epsilonEquals(angle, Math.toRadians(15 * index), EPSILON)) {
+         return radianLabels[(int) index];
+      }
+      return String.format(Locale.US, "%.2f", angle);
    }
 }
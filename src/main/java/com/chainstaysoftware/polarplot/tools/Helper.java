@@ -16,6 +16,7 @@
 
 package com.chainstaysoftware.polarplot.tools;
 
+import com.chainstaysoftware.polarplot.Symbol;
 import com.chainstaysoftware.polarplot.data.XYChartItem;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.geometry.VPos;
@@ -24,6 +25,7 @@ import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
@@ -36,11 +38,18 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
 
 public class Helper {
+    private static final int                        TEXT_DIMENSION_CACHE_SIZE = 256;
+    private static final Map<TextKey, CtxDimension> TEXT_DIMENSION_CACHE      = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<TextKey, CtxDimension> ELDEST) { return size() > TEXT_DIMENSION_CACHE_SIZE; }
+    });
+
     public static final int clamp(final int MIN, final int MAX, final int VALUE) {
         if (VALUE < MIN) return MIN;
         if (VALUE > MAX) return MAX;
@@ -100,7 +109,30 @@ public class Helper {
         }
     }
 
+    /**
+     * Returns the width and height of TEXT rendered in FONT. Measuring needs a
+     * layout pass of a Text node, so results are kept in a small LRU cache keyed
+     * by text, font name and size. The returned dimension is a copy and may be
+     * modified by the caller.
+     */
     public static final CtxDimension getTextDimension(final String TEXT, final Font FONT) {
+        final CtxDimension cached = cachedTextDimension(TEXT, FONT);
+        return new CtxDimension(cached.getWidth(), cached.getHeight());
+    }
+
+    /**
+     * Drops all cached text dimensions. Called by Fonts once the Lato fonts are
+     * loaded, so text measured under their names before that does not keep the
+     * dimensions of the fallback font.
+     */
+    public static final void clearTextDimensionCache() { TEXT_DIMENSION_CACHE.clear(); }
+
+    // shared instance, must not be modified
+    private static CtxDimension cachedTextDimension(final String TEXT, final Font FONT) {
+        return TEXT_DIMENSION_CACHE.computeIfAbsent(new TextKey(TEXT, FONT.getName(), FONT.getSize()), KEY -> measureText(TEXT, FONT));
+    }
+
+    private static CtxDimension measureText(final String TEXT, final Font FONT) {
         Text text = new Text(TEXT);
         text.setFont(FONT);
         double textWidth  = text.getBoundsInLocal().getWidth();
@@ -117,7 +149,7 @@ public class Helper {
                                                     final Color TEXT_FILL,
                                                     final double X,
                                                     final double Y) {
-        CtxDimension dim = getTextDimension(TEXT, FONT);
+        CtxDimension dim = cachedTextDimension(TEXT, FONT);
         double textWidth  = dim.getWidth() * 1.2;
         double textHeight = dim.getHeight();
         CTX.save();
@@ -131,9 +163,145 @@ public class Helper {
         CTX.restore();
     }
 
+    /**
+     * Draws SYMBOL of SIZE centered at X, Y. Filled symbols use FILL and STROKE,
+     * line symbols only STROKE. The state of CTX is left unchanged.
+     */
+    public static final void drawSymbol(final GraphicsContext CTX,
+                                        final double X,
+                                        final double Y,
+                                        final Paint FILL,
+                                        final Paint STROKE,
+                                        final Symbol SYMBOL,
+                                        final double SIZE) {
+        double halfSymbolSize = SIZE * 0.5;
+        CTX.save();
+        switch (SYMBOL) {
+            case NONE:
+                break;
+            case SQUARE:
+                CTX.setStroke(STROKE);
+                CTX.setFill(FILL);
+                CTX.fillRect(X - halfSymbolSize, Y - halfSymbolSize, SIZE, SIZE);
+                CTX.strokeRect(X - halfSymbolSize, Y - halfSymbolSize, SIZE, SIZE);
+                break;
+            case TRIANGLE:
+                CTX.setStroke(STROKE);
+                CTX.setFill(FILL);
+                CTX.beginPath();
+                CTX.moveTo(X, Y - halfSymbolSize);
+                CTX.lineTo(X + halfSymbolSize, Y + halfSymbolSize);
+                CTX.lineTo(X - halfSymbolSize, Y + halfSymbolSize);
+                CTX.lineTo(X, Y - halfSymbolSize);
+                CTX.closePath();
+                CTX.fill();
+                CTX.stroke();
+                break;
+            case STAR:
+                CTX.setStroke(STROKE);
+                CTX.setFill(null);
+                CTX.strokeLine(X - halfSymbolSize, Y, X + halfSymbolSize, Y);
+                CTX.strokeLine(X, Y - halfSymbolSize, X, Y + halfSymbolSize);
+                CTX.strokeLine(X - halfSymbolSize, Y - halfSymbolSize, X + halfSymbolSize, Y + halfSymbolSize);
+                CTX.strokeLine(X + halfSymbolSize, Y - halfSymbolSize, X - halfSymbolSize, Y + halfSymbolSize);
+                break;
+            case CROSS:
+                CTX.setStroke(STROKE);
+                CTX.setFill(null);
+                CTX.strokeLine(X - halfSymbolSize, Y, X + halfSymbolSize, Y);
+                CTX.strokeLine(X, Y - halfSymbolSize, X, Y + halfSymbolSize);
+                break;
+            case CIRCLE:
+            default:
+                CTX.setStroke(STROKE);
+                CTX.setFill(FILL);
+                CTX.fillOval(X - halfSymbolSize, Y - halfSymbolSize, SIZE, SIZE);
+                CTX.strokeOval(X - halfSymbolSize, Y - halfSymbolSize, SIZE, SIZE);
+                break;
+        }
+        CTX.restore();
+    }
+
+    /**
+     * Draws SYMBOL of SIZE centered at the first COUNT points of XS, YS as one
+     * batch: fill and stroke are set once and all symbols are collected into a
+     * single path that is filled and stroked once. Looks like COUNT calls of
+     * drawSymbol(...) except that no symbol's stroke is covered by the fill of
+     * a later, overlapping symbol. The state of CTX is left unchanged.
+     */
+    public static final void drawSymbols(final GraphicsContext CTX,
+                                         final double[] XS,
+                                         final double[] YS,
+                                         final int COUNT,
+                                         final Paint FILL,
+                                         final Paint STROKE,
+                                         final Symbol SYMBOL,
+                                         final double SIZE) {
+        if (Symbol.NONE == SYMBOL || COUNT <= 0) { return; }
+        double halfSymbolSize = SIZE * 0.5;
+        CTX.save();
+        CTX.setStroke(STROKE);
+        CTX.setFill(FILL);
+        CTX.beginPath();
+        switch (SYMBOL) {
+            case SQUARE:
+                for (int i = 0 ; i < COUNT ; i++) {
+                    CTX.rect(XS[i] - halfSymbolSize, YS[i] - halfSymbolSize, SIZE, SIZE);
+                }
+                CTX.fill();
+                CTX.stroke();
+                break;
+            case TRIANGLE:
+                for (int i = 0 ; i < COUNT ; i++) {
+                    CTX.moveTo(XS[i], YS[i] - halfSymbolSize);
+                    CTX.lineTo(XS[i] + halfSymbolSize, YS[i] + halfSymbolSize);
+                    CTX.lineTo(XS[i] - halfSymbolSize, YS[i] + halfSymbolSize);
+                    CTX.closePath();
+                }
+                CTX.fill();
+                CTX.stroke();
+                break;
+            case STAR:
+                for (int i = 0 ; i < COUNT ; i++) {
+                    CTX.moveTo(XS[i] - halfSymbolSize, YS[i]);
+                    CTX.lineTo(XS[i] + halfSymbolSize, YS[i]);
+                    CTX.moveTo(XS[i], YS[i] - halfSymbolSize);
+                    CTX.lineTo(XS[i], YS[i] + halfSymbolSize);
+                    CTX.moveTo(XS[i] - halfSymbolSize, YS[i] - halfSymbolSize);
+                    CTX.lineTo(XS[i] + halfSymbolSize, YS[i] + halfSymbolSize);
+                    CTX.moveTo(XS[i] + halfSymbolSize, YS[i] - halfSymbolSize);
+                    CTX.lineTo(XS[i] - halfSymbolSize, YS[i] + halfSymbolSize);
+                }
+                CTX.stroke();
+                break;
+            case CROSS:
+                for (int i = 0 ; i < COUNT ; i++) {
+                    CTX.moveTo(XS[i] - halfSymbolSize, YS[i]);
+                    CTX.lineTo(XS[i] + halfSymbolSize, YS[i]);
+                    CTX.moveTo(XS[i], YS[i] - halfSymbolSize);
+                    CTX.lineTo(XS[i], YS[i] + halfSymbolSize);
+                }
+                CTX.stroke();
+                break;
+            case CIRCLE:
+            default:
+                for (int i = 0 ; i < COUNT ; i++) {
+                    CTX.moveTo(XS[i] + halfSymbolSize, YS[i]);
+                    CTX.arc(XS[i], YS[i], halfSymbolSize, halfSymbolSize, 0, 360);
+                    CTX.closePath();
+                }
+                CTX.fill();
+                CTX.stroke();
+                break;
+        }
+        CTX.restore();
+    }
+
     public static boolean epsilonEquals(double val1, double val2, double epsilon) {
         // perform abs < epsilon first as it is more likely to succeed, thus optimizing
         // performance.
         return Math.abs(val1 - val2) < epsilon || Double.compare(val1, val2) == 0;
     }
+
+    private record TextKey(String text, String fontName, double size) {}
 }
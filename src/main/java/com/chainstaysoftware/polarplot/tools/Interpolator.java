@@ -6,6 +6,11 @@ import java.util.LinkedList;
 import java.util.List;
 
 public final class Interpolator {
+   public static final double DEGREE_STEP = 1.0;
+   public static final double RADIAN_STEP = Math.toRadians(1);
+   // relative error up to which a span counts as a whole number of steps
+   private static final double STEP_TOLERANCE = 1e-9;
+
    private Interpolator() {}
 
    /**
@@ -13,7 +18,10 @@ public final class Interpolator {
     * Assumes input points are in degrees.
     * Wrap indicates if points should be interpolated between the last and first points
     * to loop around.
+    * @deprecated allocates an XYChartItem per point, use
+    * {@link #interpolate(PointBuffer, boolean, PointBuffer)}
     */
+   @Deprecated
    public static List<XYChartItem> interpolate(final List<XYChartItem> points,
                                                final boolean wrap) {
       if (points.size() < 2) {
@@ -43,7 +51,10 @@ public final class Interpolator {
     * Assumes input points are in radians.
     * Wrap indicates if points should be interpolated between the last and first points
     * to loop around.
+    * @deprecated allocates an XYChartItem per point, use
+    * {@link #interpolateRadians(PointBuffer, boolean, PointBuffer)}
     */
+   @Deprecated
    public static List<XYChartItem> interpolateRadians(final List<XYChartItem> points,
                                                       final boolean wrap) {
       if (points.size() < 2) {
@@ -114,6 +125,209 @@ public final class Interpolator {
       return list;
    }
 
+   /**
+    * Interpolate between the (theta, r) pairs in points so that there are points
+    * at 1 degree increments. Assumes theta is in degrees. Results replace the
+    * content of target, which only grows if it is too small.
+    * Wrap indicates if points should be interpolated between the last and first points
+    * to loop around.
+    */
+   public static void interpolate(final PointBuffer points,
+                                  final boolean wrap,
+                                  final PointBuffer target) {
+      interpolate(points, wrap, 360.0, DEGREE_STEP, target);
+   }
+
+   /**
+    * Interpolate between the (theta, r) pairs in points so that there are points
+    * at 1 degree increments. Assumes theta is in radians. Results replace the
+    * content of target, which only grows if it is too small.
+    * Wrap indicates if points should be interpolated between the last and first points
+    * to loop around.
+    */
+   public static void interpolateRadians(final PointBuffer points,
+                                         final boolean wrap,
+                                         final PointBuffer target) {
+      interpolate(points, wrap, 2 * Math.PI, RADIAN_STEP, target);
+   }
+
+   /**
+    * Interpolate between the (theta, r) pairs in points so that consecutive
+    * points are at most stepSize apart. Period is the full circle in the unit of
+    * theta (360 or 2pi). Results replace the content of target.
+    */
+   public static void interpolate(final PointBuffer points,
+                                  final boolean wrap,
+                                  final double period,
+                                  final double stepSize,
+                                  final PointBuffer target) {
+      final int noOfPoints = points.getSize();
+      target.clear();
+      target.ensureCapacity(size(points.getXs(), noOfPoints, wrap, period, stepSize));
+      target.setSize(interpolate(points.getXs(), points.getYs(), noOfPoints, wrap,
+         period, stepSize, target.getXs(), target.getYs()));
+   }
+
+   /**
+    * Number of points interpolate(...) writes for the first noOfPoints thetas.
+    * Lets callers size their arrays once from the angular span instead of
+    * growing them while interpolating.
+    */
+   public static int size(final double[] thetas,
+                          final int noOfPoints,
+                          final boolean wrap,
+                          final double period,
+                          final double stepSize) {
+      if (noOfPoints < 2) {
+         return noOfPoints;
+      }
+
+      int size = 0;
+      for (int i = 0; i < noOfPoints - 1; i++) {
+         size += 2 + steps(thetas[i], thetas[i + 1], stepSize);
+      }
+      if (wrap) {
+         size += 2 + steps(thetas[noOfPoints - 1], thetas[0] + period, stepSize);
+      }
+      return size;
+   }
+
+   /**
+    * Writes the interpolated (theta, r) pairs of the first noOfPoints input points
+    * into targetThetas/targetRs, starting at index 0. The target arrays must hold
+    * at least size(...) entries. Nothing is allocated.
+    * Returns the number of points written.
+    */
+   public static int interpolate(final double[] thetas,
+                                 final double[] rs,
+                                 final int noOfPoints,
+                                 final boolean wrap,
+                                 final double period,
+                                 final double stepSize,
+                                 final double[] targetThetas,
+                                 final double[] targetRs) {
+      if (noOfPoints < 2) {
+         System.arraycopy(thetas, 0, targetThetas, 0, noOfPoints);
+         System.arraycopy(rs, 0, targetRs, 0, noOfPoints);
+         return noOfPoints;
+      }
+
+      int index = 0;
+      for (int i = 0; i < noOfPoints - 1; i++) {
+         index = interpolate(thetas[i], rs[i], thetas[i + 1], rs[i + 1], stepSize,
+            targetThetas, targetRs, index);
+      }
+
+      if (wrap) {
+         // rewrite the first point to have an angle greater than the end point.
+         // Code assumes first point and last point are from [0..period]
+         index = interpolate(thetas[noOfPoints - 1], rs[noOfPoints - 1],
+            thetas[0] + period, rs[0], stepSize, targetThetas, targetRs, index);
+      }
+      return index;
+   }
+
+   /**
+    * Number of points interpolateSegment(...) writes for the segment from theta1
+    * to theta2, both end points included.
+    */
+   public static int segmentSize(final double theta1,
+                                 final double theta2,
+                                 final double stepSize) {
+      return 2 + steps(theta1, theta2, stepSize);
+   }
+
+   /**
+    * Writes the interpolated (theta, r) pairs of the single segment from
+    * (theta1, r1) to (theta2, r2), both end points included, into
+    * targetThetas/targetRs starting at offset. This is the building block of
+    * interpolate(...), a full curve is the concatenation of its segments.
+    * Returns the index after the last point written.
+    */
+   public static int interpolateSegment(final double theta1,
+                                        final double r1,
+                                        final double theta2,
+                                        final double r2,
+                                        final double stepSize,
+                                        final double[] targetThetas,
+                                        final double[] targetRs,
+                                        final int offset) {
+      return interpolate(theta1, r1, theta2, r2, stepSize, targetThetas, targetRs, offset);
+   }
+
+   /**
+    * Writes the single segment from (theta1, r1) to (theta2, r2) split into
+    * noOfSteps equally sized steps, i.e. noOfSteps + 1 points with both end
+    * points included, into targetThetas/targetRs starting at offset.
+    * Returns the index after the last point written.
+    */
+   public static int interpolateSegmentEvenly(final double theta1,
+                                              final double r1,
+                                              final double theta2,
+                                              final double r2,
+                                              final int noOfSteps,
+                                              final double[] targetThetas,
+                                              final double[] targetRs,
+                                              final int offset) {
+      int index = offset;
+      targetThetas[index] = theta1;
+      targetRs[index++] = r1;
+      for (int k = 1; k < noOfSteps; k++) {
+         final double fraction = (double) k / noOfSteps;
+         targetThetas[index] = theta1 + (theta2 - theta1) * fraction;
+         targetRs[index++] = r1 + (r2 - r1) * fraction;
+      }
+      targetThetas[index] = theta2;
+      targetRs[index++] = r2;
+      return index;
+   }
+
+   /**
+    * Number of points strictly between theta1 and theta2 at stepSize increments.
+    * A span that is a whole number of steps up to rounding error (e.g. 90
+    * degrees in radians) ends on its last step, so the last interpolated point
+    * never lands a rounding error short of theta2.
+    */
+   private static int steps(final double theta1,
+                            final double theta2,
+                            final double stepSize) {
+      final double span = theta2 - theta1;
+      if (span <= 0) {
+         return 0;
+      }
+      final double steps = span / stepSize;
+      final double nearest = Math.rint(steps);
+      return Math.abs(steps - nearest) <= STEP_TOLERANCE * nearest
+         ? (int) nearest - 1
+         : (int) Math.ceil(steps) - 1;
+   }
+
+   private static int interpolate(final double theta1,
+                                  final double r1,
+                                  final double theta2,
+                                  final double r2,
+                                  final double stepSize,
+                                  final double[] targetThetas,
+                                  final double[] targetRs,
+                                  final int offset) {
+      int index = offset;
+      targetThetas[index] = theta1;
+      targetRs[index++] = r1;
+
+      //r = r1 + { (r2 - r1) * [ (theta - theta1) / (theta2 - theta1) ] }
+      final double span = theta2 - theta1;
+      final int steps = steps(theta1, theta2, stepSize);
+      for (int k = 1; k <= steps; k++) {
+         final double delta = k * stepSize;
+         targetThetas[index] = theta1 + delta;
+         targetRs[index++] = r1 + ((r2 - r1) * delta / span);
+      }
+
+      targetThetas[index] = theta2;
+      targetRs[index++] = r2;
+      return index;
+   }
+
    private static XYChartItem interpolate(final double r1,
                                    final double theta1,
                                    final double r2,
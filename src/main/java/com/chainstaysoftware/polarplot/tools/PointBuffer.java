@@ -0,0 +1,80 @@
+package com.chainstaysoftware.polarplot.tools;
+
+import java.util.Arrays;
+
+/**
+ * Growable pair of primitive coordinate arrays. Used in place of Point[] on the
+ * redraw path so the arrays can be reused from frame to frame and only grow
+ * when a series gets larger.
+ * The backing arrays are exposed directly and are valid up to getSize().
+ */
+public class PointBuffer {
+   private static final int DEFAULT_CAPACITY = 16;
+
+   private double[] xs;
+   private double[] ys;
+   private int size;
+
+   public PointBuffer() {
+      this(DEFAULT_CAPACITY);
+   }
+
+   public PointBuffer(final int capacity) {
+      xs = new double[Math.max(1, capacity)];
+      ys = new double[Math.max(1, capacity)];
+   }
+
+   public double[] getXs() { return xs; }
+
+   public double[] getYs() { return ys; }
+
+   public double getX(final int index) { return xs[index]; }
+
+   public double getY(final int index) { return ys[index]; }
+
+   public int getSize() { return size; }
+
+   /**
+    * Sets the number of valid entries, used after writing into the backing
+    * arrays directly.
+    */
+   public void setSize(final int size) {
+      if (size < 0 || size > xs.length) {
+         throw new IllegalArgumentException("Size " + size + " outside of capacity " + xs.length);
+      }
+      this.size = size;
+   }
+
+   public int getCapacity() { return xs.length; }
+
+   public boolean isEmpty() { return size == 0; }
+
+   public void clear() {
+      size = 0;
+   }
+
+   /**
+    * Grows the backing arrays, keeping their content, so that at least
+    * capacity entries fit. Growing may replace the arrays returned by
+    * getXs()/getYs().
+    */
+   public void ensureCapacity(final int capacity) {
+      if (capacity > xs.length) {
+         final int newCapacity = Math.max(capacity, xs.length + (xs.length >> 1));
+         xs = Arrays.copyOf(xs, newCapacity);
+         ys = Arrays.copyOf(ys, newCapacity);
+      }
+   }
+
+   public void add(final double x, final double y) {
+      ensureCapacity(size + 1);
+      xs[size] = x;
+      ys[size] = y;
+      size++;
+   }
+
+   public void set(final int index, final double x, final double y) {
+      xs[index] = x;
+      ys[index] = y;
+   }
+}
@@ -0,0 +1,104 @@
+package com.chainstaysoftware.polarplot.tools;
+
+import com.chainstaysoftware.polarplot.Symbol;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of pre-rendered symbols. Each distinct
+ * (symbol, fill, stroke, size, render scale) is rasterized once into a
+ * WritableImage, which is then blitted with drawImage for every point.
+ * Changing any of these simply leads to a different sprite, old sprites age
+ * out of the cache. Must be used on the FX application thread.
+ */
+public final class SymbolSpriteCache {
+   private static final int DEFAULT_CAPACITY = 64;
+   // room around the symbol for the stroke
+   private static final double PADDING = 2;
+
+   private final Map<Key, WritableImage> sprites;
+   private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+   private long hits;
+   private long misses;
+
+   public SymbolSpriteCache() {
+      this(DEFAULT_CAPACITY);
+   }
+
+   public SymbolSpriteCache(final int capacity) {
+      sprites = new LinkedHashMap<>(16, 0.75f, true) {
+         @Override
+         protected boolean removeEldestEntry(final Map.Entry<Key, WritableImage> eldest) {
+            return size() > capacity;
+         }
+      };
+      snapshotParameters.setFill(Color.TRANSPARENT);
+   }
+
+   /**
+    * The sprite for the given symbol, rendered at renderScale device pixels per
+    * unit. Draw it with draw(...) using the same renderScale.
+    */
+   public WritableImage get(final Symbol symbol,
+                            final Paint fill,
+                            final Paint stroke,
+                            final double size,
+                            final double renderScale) {
+      final Key key = new Key(symbol, fill, stroke, size, renderScale);
+      WritableImage sprite = sprites.get(key);
+      if (null == sprite) {
+         misses++;
+         sprite = render(symbol, fill, stroke, size, renderScale);
+         sprites.put(key, sprite);
+      } else {
+         hits++;
+      }
+      return sprite;
+   }
+
+   /**
+    * Blits the sprite centered at x, y.
+    */
+   public static void draw(final GraphicsContext ctx,
+                           final WritableImage sprite,
+                           final double x,
+                           final double y,
+                           final double renderScale) {
+      final double extent = sprite.getWidth() / renderScale;
+      ctx.drawImage(sprite, x - extent * 0.5, y - extent * 0.5, extent, extent);
+   }
+
+   public void clear() {
+      sprites.clear();
+   }
+
+   public int size() { return sprites.size(); }
+
+   public long getHits() { return hits; }
+
+   public long getMisses() { return misses; }
+
+   private WritableImage render(final Symbol symbol,
+                                final Paint fill,
+                                final Paint stroke,
+                                final double size,
+                                final double renderScale) {
+      // whole device pixels, the symbol sits in the center
+      final int pixels = Math.max(1, (int) Math.ceil((size + PADDING) * renderScale));
+      final double extent = pixels / renderScale;
+      final Canvas canvas = new Canvas(pixels, pixels);
+      final GraphicsContext ctx = canvas.getGraphicsContext2D();
+      ctx.scale(renderScale, renderScale);
+      Helper.drawSymbol(ctx, extent * 0.5, extent * 0.5, fill, stroke, symbol, size);
+      return canvas.snapshot(snapshotParameters, new WritableImage(pixels, pixels));
+   }
+
+   private record Key(Symbol symbol, Paint fill, Paint stroke, double size, double renderScale) {}
+}
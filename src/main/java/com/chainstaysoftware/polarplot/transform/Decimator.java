@@ -0,0 +1,175 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+
+/**
+ * Reduces the number of vertices of an on-screen polyline without visibly
+ * changing it. Results replace the content of the target buffer, nothing else
+ * is allocated once the target is large enough.
+ */
+public final class Decimator {
+   private Decimator() {}
+
+   /**
+    * Angular-bin min/max decimation. Consecutive vertices whose theta falls into
+    * the same bin of binWidth (in the unit of thetas) are reduced to the first,
+    * the one closest to and the one farthest from (xCenter, yCenter), and the
+    * last vertex of the run, in their original order.
+    * thetas holds the angle of each vertex of screen, index by index.
+    */
+   public static void minMax(final PointBuffer screen,
+                             final double[] thetas,
+                             final double binWidth,
+                             final double xCenter,
+                             final double yCenter,
+                             final PointBuffer target) {
+      final int noOfPoints = screen.getSize();
+      target.clear();
+      target.ensureCapacity(noOfPoints);
+      if (noOfPoints == 0) {
+         return;
+      }
+      final double[] xs = screen.getXs();
+      final double[] ys = screen.getYs();
+      final double[] targetXs = target.getXs();
+      final double[] targetYs = target.getYs();
+
+      int size = 0;
+      int first = 0;
+      int min = 0;
+      int max = 0;
+      double minDistance = distance(xs[0], ys[0], xCenter, yCenter);
+      double maxDistance = minDistance;
+      long bin = (long) Math.floor(thetas[0] / binWidth);
+      for (int i = 1; i <= noOfPoints; i++) {
+         final long currentBin = i < noOfPoints ? (long) Math.floor(thetas[i] / binWidth) : bin + 1;
+         if (currentBin == bin) {
+            final double distance = distance(xs[i], ys[i], xCenter, yCenter);
+            if (distance < minDistance) {
+               minDistance = distance;
+               min = i;
+            }
+            if (distance > maxDistance) {
+               maxDistance = distance;
+               max = i;
+            }
+            continue;
+         }
+
+         // flush the run [first, i)
+         final int last = i - 1;
+         size = add(xs, ys, first, targetXs, targetYs, size);
+         size = addIfInside(xs, ys, Math.min(min, max), first, last, targetXs, targetYs, size);
+         if (min != max) {
+            size = addIfInside(xs, ys, Math.max(min, max), first, last, targetXs, targetYs, size);
+         }
+         if (last != first) {
+            size = add(xs, ys, last, targetXs, targetYs, size);
+         }
+
+         if (i < noOfPoints) {
+            bin = currentBin;
+            first = i;
+            min = i;
+            max = i;
+            minDistance = distance(xs[i], ys[i], xCenter, yCenter);
+            maxDistance = minDistance;
+         }
+      }
+      target.setSize(size);
+   }
+
+   /**
+    * Largest-Triangle-Three-Buckets decimation to threshold vertices. First and
+    * last vertex are always kept. Polylines with no more than threshold
+    * vertices, or thresholds below 3, are copied unchanged.
+    */
+   public static void lttb(final PointBuffer screen,
+                           final int threshold,
+                           final PointBuffer target) {
+      final int noOfPoints = screen.getSize();
+      final double[] xs = screen.getXs();
+      final double[] ys = screen.getYs();
+      target.clear();
+      if (threshold >= noOfPoints || threshold < 3) {
+         target.ensureCapacity(noOfPoints);
+         System.arraycopy(xs, 0, target.getXs(), 0, noOfPoints);
+         System.arraycopy(ys, 0, target.getYs(), 0, noOfPoints);
+         target.setSize(noOfPoints);
+         return;
+      }
+      target.ensureCapacity(threshold);
+      final double[] targetXs = target.getXs();
+      final double[] targetYs = target.getYs();
+
+      // first and last vertex are buckets of their own, the rest is split evenly
+      final double bucketSize = (double) (noOfPoints - 2) / (threshold - 2);
+      int size = add(xs, ys, 0, targetXs, targetYs, 0);
+      int a = 0;
+      for (int bucket = 0; bucket < threshold - 2; bucket++) {
+         // average of the next bucket is the third corner of the triangle
+         final int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+         final int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, noOfPoints);
+         double avgX = 0;
+         double avgY = 0;
+         for (int i = nextStart; i < nextEnd; i++) {
+            avgX += xs[i];
+            avgY += ys[i];
+         }
+         final int nextLength = nextEnd - nextStart;
+         avgX /= nextLength;
+         avgY /= nextLength;
+
+         final int start = (int) (bucket * bucketSize) + 1;
+         final int end = (int) ((bucket + 1) * bucketSize) + 1;
+         double maxArea = -1;
+         int selected = start;
+         for (int i = start; i < end; i++) {
+            // twice the triangle area, the factor does not change the maximum
+            final double area = Math.abs((xs[a] - avgX) * (ys[i] - ys[a]) - (xs[a] - xs[i]) * (avgY - ys[a]));
+            if (area > maxArea) {
+               maxArea = area;
+               selected = i;
+            }
+         }
+         size = add(xs, ys, selected, targetXs, targetYs, size);
+         a = selected;
+      }
+      size = add(xs, ys, noOfPoints - 1, targetXs, targetYs, size);
+      target.setSize(size);
+   }
+
+   private static double distance(final double x,
+                                  final double y,
+                                  final double xCenter,
+                                  final double yCenter) {
+      // squared distance, only used for comparisons
+      final double dx = x - xCenter;
+      final double dy = y - yCenter;
+      return dx * dx + dy * dy;
+   }
+
+   private static int addIfInside(final double[] xs,
+                                  final double[] ys,
+                                  final int index,
+                                  final int first,
+                                  final int last,
+                                  final double[] targetXs,
+                                  final double[] targetYs,
+                                  final int size) {
+      return index != first && index != last
+         ? add(xs, ys, index, targetXs, targetYs, size)
+         : size;
+   }
+
+   private static int add(final double[] xs,
+                          final double[] ys,
+                          final int index,
+                          final double[] targetXs,
+                          final double[] targetYs,
+                          final int size) {
+      targetXs[size] = xs[index];
+      targetYs[size] = ys[index];
+      return size + 1;
+   }
+}
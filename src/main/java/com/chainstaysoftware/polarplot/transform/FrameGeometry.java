@@ -0,0 +1,37 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.series.XYSeries;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Screen geometry of all series of one frame. XYPane keeps two of these, one
+ * being drawn on the FX thread while the next one is prepared, and swaps
+ * them when the next one is done. An instance is only ever used by one
+ * thread at a time.
+ */
+public final class FrameGeometry {
+   private final Map<XYSeries<?>, SeriesGeometry> geometries = new WeakHashMap<>();
+   private FrameSnapshot frame;
+
+   /**
+    * The snapshot this geometry was prepared from, null before the first frame.
+    */
+   public FrameSnapshot getFrame() { return frame; }
+
+   /**
+    * Geometry of series, null if the series was not part of any frame yet.
+    */
+   public SeriesGeometry get(final XYSeries<?> series) {
+      return geometries.get(series);
+   }
+
+   SeriesGeometry getOrCreate(final XYSeries<?> series) {
+      return geometries.computeIfAbsent(series, s -> new SeriesGeometry());
+   }
+
+   void setFrame(final FrameSnapshot frame) {
+      this.frame = frame;
+   }
+}
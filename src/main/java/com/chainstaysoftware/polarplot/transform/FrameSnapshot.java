@@ -0,0 +1,52 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import java.util.List;
+
+/**
+ * Immutable input of one frame: the plot layout, the transform settings and
+ * a snapshot of every series, in drawing order.
+ */
+public final class FrameSnapshot {
+   /**
+    * Placement of the plot, see {@link PolarTransform#set}.
+    */
+   public record Layout(double xCenter,
+                        double yCenter,
+                        double yLowerBound,
+                        double yRange,
+                        double range,
+                        double offset) {
+   }
+
+   private final Layout layout;
+   private final double pixelStep;
+   private final TrigTable trigTable;
+   private final boolean vectorized;
+   private final List<SeriesSnapshot> series;
+
+   /**
+    * pixelStep is the pixel adaptive interpolation step, 0 for the fixed
+    * 1 degree step.
+    */
+   public FrameSnapshot(final Layout layout,
+                        final double pixelStep,
+                        final TrigTable trigTable,
+                        final boolean vectorized,
+                        final List<SeriesSnapshot> series) {
+      this.layout = layout;
+      this.pixelStep = pixelStep;
+      this.trigTable = trigTable;
+      this.vectorized = vectorized;
+      this.series = List.copyOf(series);
+   }
+
+   public Layout getLayout() { return layout; }
+
+   public double getPixelStep() { return pixelStep; }
+
+   public TrigTable getTrigTable() { return trigTable; }
+
+   public boolean isVectorized() { return vectorized; }
+
+   public List<SeriesSnapshot> getSeries() { return series; }
+}
@@ -0,0 +1,186 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.Decimation;
+import com.chainstaysoftware.polarplot.series.XYSeries;
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns a {@link FrameSnapshot} into screen geometry: interpolates every
+ * series, transforms it to screen coordinates and decimates it. Keeps the
+ * interpolated curve of each series between frames, so a snapshot that only
+ * carries a few changed items only re-interpolates around them.
+ * Works on snapshots only and never touches a series, so it can run off the
+ * FX thread, but only one frame at a time.
+ * With a pool the series of a frame are prepared in parallel, and long
+ * series are further split into slices of adjacent segments.
+ */
+public final class GeometryPreparer {
+   private final Map<XYSeries<?>, InterpolatedCurve> curves = new WeakHashMap<>();
+   private final PolarTransform transform = new PolarTransform();
+   private final AtomicLong cacheHits = new AtomicLong();
+   private final AtomicLong cacheMisses = new AtomicLong();
+   private final AtomicLong partialUpdates = new AtomicLong();
+   private volatile ForkJoinPool pool;
+
+   /**
+    * Pool to prepare the series of a frame on, null to prepare them one
+    * after another on the calling thread.
+    */
+   public void setPool(final ForkJoinPool pool) {
+      this.pool = pool;
+   }
+
+   public ForkJoinPool getPool() { return pool; }
+
+   /**
+    * Prepares the geometry of every series of frame into target.
+    */
+   public void prepare(final FrameSnapshot frame,
+                       final FrameGeometry target) {
+      final FrameSnapshot.Layout layout = frame.getLayout();
+      transform.set(layout.xCenter(), layout.yCenter(), layout.yLowerBound(), layout.yRange(),
+         layout.range(), layout.offset());
+      transform.setTrigTable(frame.getTrigTable());
+      transform.setVectorized(frame.isVectorized());
+
+      final ForkJoinPool pool = this.pool;
+      if (null == pool) {
+         for (SeriesSnapshot snapshot : frame.getSeries()) {
+            prepare(snapshot, frame, curve(snapshot, false), target.getOrCreate(snapshot.getSeries()), false);
+         }
+      } else {
+         // the maps are not thread safe, look everything up before forking
+         final List<ForkJoinTask<?>> tasks = new ArrayList<>(frame.getSeries().size());
+         for (SeriesSnapshot snapshot : frame.getSeries()) {
+            final InterpolatedCurve curve = curve(snapshot, true);
+            final SeriesGeometry geometry = target.getOrCreate(snapshot.getSeries());
+            tasks.add(ForkJoinTask.adapt(() -> prepare(snapshot, frame, curve, geometry, true)));
+         }
+         pool.invoke(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(tasks);
+         }));
+      }
+      target.setFrame(frame);
+   }
+
+   private InterpolatedCurve curve(final SeriesSnapshot snapshot,
+                                   final boolean split) {
+      final InterpolatedCurve curve = curves.computeIfAbsent(snapshot.getSeries(), s -> new InterpolatedCurve());
+      curve.setSplit(split);
+      return curve;
+   }
+
+   private void prepare(final SeriesSnapshot snapshot,
+                        final FrameSnapshot frame,
+                        final InterpolatedCurve curve,
+                        final SeriesGeometry geometry,
+                        final boolean split) {
+      final FrameSnapshot.Layout layout = frame.getLayout();
+      if (frame.getPixelStep() > 0) {
+         curve.setPixelStep(frame.getPixelStep(),
+            layout.offset() - layout.yLowerBound() * layout.range() / layout.yRange(),
+            layout.range() / layout.yRange());
+      } else {
+         curve.setFixedStep();
+      }
+      switch (curve.update(snapshot)) {
+         case NONE:
+            cacheHits.incrementAndGet();
+            break;
+         case PARTIAL:
+            partialUpdates.incrementAndGet();
+            break;
+         default:
+            cacheMisses.incrementAndGet();
+      }
+
+      final boolean radians = snapshot.isRadians();
+      if (snapshot.isShowPoints()) {
+         transform.toScreen(curve.getSource(), radians, geometry.getPoints());
+      } else {
+         geometry.getPoints().clear();
+      }
+      toScreen(curve.getCurve(), radians, geometry.getPath(), split);
+      geometry.setOutline(decimate(snapshot, layout, curve.getCurve(), geometry), snapshot.isWrap());
+   }
+
+   /**
+    * Transforms source into target. If split, long buffers are transformed
+    * as parallel slices.
+    */
+   private void toScreen(final PointBuffer source,
+                         final boolean radians,
+                         final PointBuffer target,
+                         final boolean split) {
+      final int noOfPoints = source.getSize();
+      if (!split || noOfPoints <= InterpolatedCurve.SPLIT_SIZE || !ForkJoinTask.inForkJoinPool()) {
+         transform.toScreen(source, radians, target);
+         return;
+      }
+
+      target.clear();
+      target.ensureCapacity(noOfPoints);
+      final List<ForkJoinTask<?>> tasks = new ArrayList<>(noOfPoints / InterpolatedCurve.SPLIT_SIZE + 1);
+      for (int from = 0; from < noOfPoints; from += InterpolatedCurve.SPLIT_SIZE) {
+         final int sliceFrom = from;
+         final int sliceTo = Math.min(noOfPoints, from + InterpolatedCurve.SPLIT_SIZE);
+         tasks.add(ForkJoinTask.adapt(() -> transform.toScreen(source, radians, target, sliceFrom, sliceTo)));
+      }
+      ForkJoinTask.invokeAll(tasks);
+      target.setSize(noOfPoints);
+   }
+
+   /**
+    * Applies the decimation of the series to the on-screen path. Bins are one
+    * pixel of arc wide at the outer radius. Returns the buffer to draw.
+    */
+   private static PointBuffer decimate(final SeriesSnapshot snapshot,
+                                       final FrameSnapshot.Layout layout,
+                                       final PointBuffer interpolated,
+                                       final SeriesGeometry geometry) {
+      final Decimation decimation = snapshot.getDecimation();
+      final PointBuffer path = geometry.getPath();
+      final double outerRadius = layout.range() + layout.offset();
+      if (null == decimation || Decimation.NONE == decimation || outerRadius <= 0) {
+         return path;
+      }
+      final double binRadians = 1.0 / outerRadius;
+      final double binWidth = snapshot.isRadians() ? binRadians : Math.toDegrees(binRadians);
+      final PointBuffer decimated = geometry.getDecimated();
+      if (Decimation.LTTB == decimation) {
+         final int noOfPoints = interpolated.getSize();
+         final double span = noOfPoints > 0
+            ? Math.abs(interpolated.getX(noOfPoints - 1) - interpolated.getX(0))
+            : 0;
+         Decimator.lttb(path, 2 * (int) Math.ceil(span / binWidth) + 2, decimated);
+      } else {
+         Decimator.minMax(path, interpolated.getXs(), binWidth, layout.xCenter(), layout.yCenter(), decimated);
+      }
+      return decimated;
+   }
+
+   /**
+    * Number of series updates that reused the interpolated curve of an
+    * unchanged series.
+    */
+   public long getCacheHits() { return cacheHits.get(); }
+
+   /**
+    * Number of series updates that had to interpolate the whole series.
+    */
+   public long getCacheMisses() { return cacheMisses.get(); }
+
+   /**
+    * Number of series updates that only re-interpolated the segments next to
+    * changed items.
+    */
+   public long getPartialUpdates() { return partialUpdates.get(); }
+}
@@ -0,0 +1,98 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.tools.FormatAngle;
+
+/**
+ * Spoke end points and angle label positions of the polar grid. Computed once
+ * per (size, angle step, radians) so the grid can be drawn with plain
+ * strokeLine/fillText calls instead of rotating the GraphicsContext per sector.
+ * Sector i lies at i * angleStep degrees, clockwise from the top.
+ */
+public final class GridGeometry {
+   // spokes run from the center to SPOKE_RADIUS * size, labels are centered
+   // LABEL_MARGIN * size inside the edge of the plot
+   private static final double SPOKE_RADIUS = 0.45;
+   private static final double LABEL_MARGIN = 0.02;
+
+   private double size = -1;
+   private double angleStep;
+   private boolean radians;
+   private int noOfSectors;
+   private double[] spokeXs = new double[0];
+   private double[] spokeYs = new double[0];
+   private double[] labelXs = new double[0];
+   private double[] labelYs = new double[0];
+   private double[] sins = new double[0];
+   private double[] coss = new double[0];
+   private String[] labels = new String[0];
+
+   /**
+    * Recomputes the geometry if size, angle step or angle unit differ from
+    * the last call. Returns true if it was recomputed.
+    */
+   public boolean update(final double size,
+                         final double angleStep,
+                         final boolean radians) {
+      if (this.size == size && this.angleStep == angleStep && this.radians == radians) {
+         return false;
+      }
+      this.size = size;
+      this.angleStep = angleStep;
+      this.radians = radians;
+
+      noOfSectors = (int) Math.ceil(360.0 / angleStep);
+      if (spokeXs.length < noOfSectors) {
+         spokeXs = new double[noOfSectors];
+         spokeYs = new double[noOfSectors];
+         labelXs = new double[noOfSectors];
+         labelYs = new double[noOfSectors];
+         labels = new String[noOfSectors];
+         sins = new double[noOfSectors];
+         coss = new double[noOfSectors];
+      }
+
+      final double center = 0.5 * size;
+      final double spokeLength = SPOKE_RADIUS * size;
+      final double labelRadius = center - LABEL_MARGIN * size;
+      for (int i = 0; i < noOfSectors; i++) {
+         final double degrees = i * angleStep;
+         final double sin = Math.sin(Math.toRadians(degrees));
+         final double cos = Math.cos(Math.toRadians(degrees));
+         sins[i] = sin;
+         coss[i] = cos;
+         spokeXs[i] = center + sin * spokeLength;
+         spokeYs[i] = center - cos * spokeLength;
+
+         labels[i] = FormatAngle.format(radians ? Math.toRadians(degrees) : degrees, radians);
+         labelXs[i] = center + sin * labelRadius;
+         labelYs[i] = center - cos * labelRadius;
+      }
+      return true;
+   }
+
+   public int getNoOfSectors() { return noOfSectors; }
+
+   /**
+    * Outer end points of the spokes, the inner end is the center.
+    */
+   public double[] getSpokeXs() { return spokeXs; }
+
+   public double[] getSpokeYs() { return spokeYs; }
+
+   /**
+    * Centers of the angle labels. Each label is drawn rotated by its sector
+    * angle, i.e. tangential to the circle.
+    */
+   public double[] getLabelXs() { return labelXs; }
+
+   public double[] getLabelYs() { return labelYs; }
+
+   public String[] getLabels() { return labels; }
+
+   /**
+    * Sine and cosine of the sector angles, for the label rotation.
+    */
+   public double[] getSins() { return sins; }
+
+   public double[] getCoss() { return coss; }
+}
@@ -0,0 +1,413 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.series.XYSeries;
+import com.chainstaysoftware.polarplot.tools.Interpolator;
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Interpolated (theta, r) curve of a series, kept per segment so that a change
+ * to a few items only re-interpolates the segments next to them. Segment k
+ * joins item k and item k + 1, the optional wrap segment joins the last and
+ * the first item. The curve is stored flat, as the concatenation of its
+ * segments, so it can be transformed and stroked in one go.
+ */
+public final class InterpolatedCurve {
+   /**
+    * What update(...) had to do to bring the curve up to date.
+    */
+   public enum Update {
+      /** Nothing changed, the curve was reused. */
+      NONE,
+      /** Only the segments around changed items were re-interpolated. */
+      PARTIAL,
+      /** The whole curve was rebuilt. */
+      FULL
+   }
+
+   /**
+    * Number of curve points above which the work on a curve is split into
+    * ForkJoin tasks, each covering about this many points.
+    */
+   public static final int SPLIT_SIZE = 16_384;
+
+   private final PointBuffer source = new PointBuffer();
+   private final PointBuffer curve = new PointBuffer();
+   // start of segment k in curve, segmentStarts[noOfSegments] is the start of the wrap segment
+   private int[] segmentStarts = new int[16];
+   private int noOfSegments;
+   private long version = -1;
+   // false if the curve has to be rebuilt from source, e.g. after a density change
+   private boolean valid;
+   private boolean radians;
+   private boolean wrap;
+   // pixel adaptive density, disabled if pixelStep is 0
+   private double pixelStep;
+   private double radiusOffset;
+   private double pixelsPerUnit;
+   private boolean split;
+
+   /**
+    * (theta, r) values of the series the curve was built from.
+    */
+   public PointBuffer getSource() { return source; }
+
+   /**
+    * (theta, r) values of the interpolated curve.
+    */
+   public PointBuffer getCurve() { return curve; }
+
+   /**
+    * Version of the series the source values belong to, -1 before the first
+    * update.
+    */
+   public long getVersion() { return version; }
+
+   /**
+    * Forces the next update to rebuild the whole curve.
+    */
+   public void invalidate() {
+      valid = false;
+   }
+
+   /**
+    * Set to true to interpolate long runs of segments in parallel, as
+    * ForkJoin tasks that each cover a slice of adjacent segments. Only has an
+    * effect if update(...) is called from a ForkJoinPool.
+    */
+   public void setSplit(final boolean split) {
+      this.split = split;
+   }
+
+   /**
+    * Samples the curve at fixed 1 degree (or Math.toRadians(1)) steps.
+    */
+   public void setFixedStep() {
+      setDensity(0, 0, 0);
+   }
+
+   /**
+    * Samples each segment so that consecutive points are about pixelStep
+    * pixels apart on screen. An r value is drawn at a distance of
+    * radiusOffset + r * pixelsPerUnit pixels from the center. Changing any of
+    * these rebuilds the curve on the next update.
+    */
+   public void setPixelStep(final double pixelStep,
+                            final double radiusOffset,
+                            final double pixelsPerUnit) {
+      if (!(pixelStep > 0)) {
+         throw new IllegalArgumentException("pixelStep must be > 0, was " + pixelStep);
+      }
+      setDensity(pixelStep, radiusOffset, pixelsPerUnit);
+   }
+
+   private void setDensity(final double pixelStep,
+                           final double radiusOffset,
+                           final double pixelsPerUnit) {
+      if (this.pixelStep != pixelStep || this.radiusOffset != radiusOffset || this.pixelsPerUnit != pixelsPerUnit) {
+         this.pixelStep = pixelStep;
+         this.radiusOffset = radiusOffset;
+         this.pixelsPerUnit = pixelsPerUnit;
+         invalidate();
+      }
+   }
+
+   /**
+    * Brings source and curve up to date with the series. Uses the change range
+    * of the series to re-interpolate only the segments touching changed items,
+    * and falls back to a full rebuild if the change range is not known.
+    * The wrap segment is cheap and always rewritten.
+    */
+   public Update update(final XYSeries<?> series,
+                        final boolean radians,
+                        final boolean wrap) {
+      if (valid && version == series.getVersion() && this.radians == radians && this.wrap == wrap) {
+         return Update.NONE;
+      }
+      return update(SeriesSnapshot.take(series, version, radians, wrap));
+   }
+
+   /**
+    * Brings source and curve up to date with a snapshot of the series. A
+    * partial snapshot has to be based on getVersion(). Does not touch the
+    * series, so it can run on any thread.
+    */
+   public Update update(final SeriesSnapshot snapshot) {
+      final boolean radians = snapshot.isRadians();
+      final boolean wrap = snapshot.isWrap();
+      if (valid && version == snapshot.getVersion() && this.radians == radians && this.wrap == wrap) {
+         return Update.NONE;
+      }
+
+      final int oldNoOfPoints = source.getSize();
+      final boolean known;
+      int oldHi = 0;
+      if (snapshot.isFull()) {
+         copySource(snapshot);
+         known = false;
+      } else {
+         if (snapshot.getBaseVersion() != version) {
+            throw new IllegalArgumentException("Snapshot based on version " + snapshot.getBaseVersion()
+               + " does not apply to version " + version);
+         }
+         oldHi = spliceSource(snapshot);
+         known = valid && this.radians == radians;
+      }
+      this.radians = radians;
+      this.wrap = wrap;
+      this.version = snapshot.getVersion();
+      this.valid = true;
+
+      final Update update;
+      if (known && spliceSegments(snapshot.getFrom(), snapshot.getTo(), oldHi, oldNoOfPoints)) {
+         update = Update.PARTIAL;
+      } else {
+         rebuild();
+         update = Update.FULL;
+      }
+      writeWrap();
+      return update;
+   }
+
+   private void copySource(final SeriesSnapshot snapshot) {
+      final int noOfPoints = snapshot.getNoOfItems();
+      source.clear();
+      source.ensureCapacity(noOfPoints);
+      final double[] thetas = source.getXs();
+      final double[] rs = source.getYs();
+      for (int i = 0; i < noOfPoints; i++) {
+         thetas[i] = snapshot.getTheta(i);
+         rs[i] = snapshot.getR(i);
+      }
+      source.setSize(noOfPoints);
+   }
+
+   /**
+    * Replaces the source values that correspond to [from, to) of the snapshot.
+    * Returns the end of the replaced range in old indices.
+    */
+   private int spliceSource(final SeriesSnapshot snapshot) {
+      final int lo = snapshot.getFrom();
+      final int hi = snapshot.getTo();
+      final int oldNoOfPoints = source.getSize();
+      final int newNoOfPoints = snapshot.getNoOfItems();
+      final int oldHi = hi - (newNoOfPoints - oldNoOfPoints);
+      if (lo < 0 || hi > newNoOfPoints || oldHi < lo || oldHi > oldNoOfPoints) {
+         throw new IllegalArgumentException("Snapshot range [" + lo + ", " + hi + ") of " + newNoOfPoints
+            + " items does not fit " + oldNoOfPoints + " items");
+      }
+
+      source.ensureCapacity(newNoOfPoints);
+      final double[] thetas = source.getXs();
+      final double[] rs = source.getYs();
+      System.arraycopy(thetas, oldHi, thetas, hi, oldNoOfPoints - oldHi);
+      System.arraycopy(rs, oldHi, rs, hi, oldNoOfPoints - oldHi);
+      for (int i = lo; i < hi; i++) {
+         thetas[i] = snapshot.getTheta(i);
+         rs[i] = snapshot.getR(i);
+      }
+      source.setSize(newNoOfPoints);
+      return oldHi;
+   }
+
+   private void rebuild() {
+      final int noOfPoints = source.getSize();
+      final double[] thetas = source.getXs();
+      final double[] rs = source.getYs();
+
+      noOfSegments = Math.max(0, noOfPoints - 1);
+      ensureSegmentCapacity(noOfSegments + 1);
+      if (noOfPoints < 2) {
+         // like Interpolator, a single point is its own curve
+         curve.clear();
+         curve.ensureCapacity(noOfPoints);
+         System.arraycopy(thetas, 0, curve.getXs(), 0, noOfPoints);
+         System.arraycopy(rs, 0, curve.getYs(), 0, noOfPoints);
+         segmentStarts[0] = noOfPoints;
+         curve.setSize(noOfPoints);
+         return;
+      }
+
+      int size = 0;
+      for (int k = 0; k < noOfSegments; k++) {
+         segmentStarts[k] = size;
+         size += segmentSize(thetas[k], rs[k], thetas[k + 1], rs[k + 1]);
+      }
+      segmentStarts[noOfSegments] = size;
+
+      curve.clear();
+      curve.ensureCapacity(size);
+      writeSegments(0, noOfSegments);
+      curve.setSize(size);
+   }
+
+   /**
+    * Re-interpolates the segments touching the items [lo, hi) of the already
+    * spliced source, which were [lo, oldHi) of oldNoOfPoints items before.
+    * Returns false if the curve cannot be spliced, the caller then rebuilds.
+    */
+   private boolean spliceSegments(final int lo,
+                                  final int hi,
+                                  final int oldHi,
+                                  final int oldNoOfPoints) {
+      final int newNoOfPoints = source.getSize();
+      if (oldNoOfPoints < 2 || newNoOfPoints < 2) {
+         return false;
+      }
+      final double[] thetas = source.getXs();
+      final double[] rs = source.getYs();
+
+      // segments [segmentLo, oldSegmentHi) of the old curve become [segmentLo, newSegmentHi)
+      final int oldNoOfSegments = noOfSegments;
+      final int newNoOfSegments = newNoOfPoints - 1;
+      final int segmentLo = Math.max(lo - 1, 0);
+      final int oldSegmentHi = Math.min(oldHi, oldNoOfSegments);
+      final int newSegmentHi = Math.min(hi, newNoOfSegments);
+
+      final int prefixEnd = segmentStarts[segmentLo];
+      final int oldSuffixStart = segmentStarts[oldSegmentHi];
+      final int oldEnd = segmentStarts[oldNoOfSegments];
+      int dirtySize = 0;
+      for (int k = segmentLo; k < newSegmentHi; k++) {
+         dirtySize += segmentSize(thetas[k], rs[k], thetas[k + 1], rs[k + 1]);
+      }
+      final int shift = prefixEnd + dirtySize - oldSuffixStart;
+
+      // move the untouched tail of the curve and its segment starts
+      curve.ensureCapacity(oldEnd + shift);
+      System.arraycopy(curve.getXs(), oldSuffixStart, curve.getXs(), oldSuffixStart + shift, oldEnd - oldSuffixStart);
+      System.arraycopy(curve.getYs(), oldSuffixStart, curve.getYs(), oldSuffixStart + shift, oldEnd - oldSuffixStart);
+      ensureSegmentCapacity(newNoOfSegments + 1);
+      System.arraycopy(segmentStarts, oldSegmentHi, segmentStarts, newSegmentHi, oldNoOfSegments - oldSegmentHi + 1);
+      if (shift != 0) {
+         for (int k = newSegmentHi; k <= newNoOfSegments; k++) {
+            segmentStarts[k] += shift;
+         }
+      }
+
+      // re-interpolate the segments touching the changed items
+      int start = prefixEnd;
+      for (int k = segmentLo; k < newSegmentHi; k++) {
+         segmentStarts[k] = start;
+         start += segmentSize(thetas[k], rs[k], thetas[k + 1], rs[k + 1]);
+      }
+      noOfSegments = newNoOfSegments;
+      writeSegments(segmentLo, newSegmentHi);
+      curve.setSize(oldEnd + shift);
+      return true;
+   }
+
+   private void writeWrap() {
+      final int noOfPoints = source.getSize();
+      final int end = segmentStarts[noOfSegments];
+      if (!wrap || noOfPoints < 2) {
+         curve.setSize(end);
+         return;
+      }
+      // rewrite the first point to have an angle greater than the end point.
+      // Code assumes first point and last point are from [0..period]
+      final double[] thetas = source.getXs();
+      final double[] rs = source.getYs();
+      final double firstTheta = thetas[0] + (radians ? 2 * Math.PI : 360.0);
+      curve.ensureCapacity(end + segmentSize(thetas[noOfPoints - 1], rs[noOfPoints - 1], firstTheta, rs[0]));
+      curve.setSize(writeSegment(thetas[noOfPoints - 1], rs[noOfPoints - 1], firstTheta, rs[0], end));
+   }
+
+   private void writeSegments(final int from,
+                              final int to) {
+      final int noOfPoints = segmentStarts[to] - segmentStarts[from];
+      if (!split || noOfPoints <= SPLIT_SIZE || !ForkJoinTask.inForkJoinPool()) {
+         writeSegmentRange(from, to);
+         return;
+      }
+
+      // cut [from, to) into slices of about SPLIT_SIZE points each
+      final int noOfTasks = (noOfPoints + SPLIT_SIZE - 1) / SPLIT_SIZE;
+      final List<ForkJoinTask<?>> tasks = new ArrayList<>(noOfTasks);
+      int lo = from;
+      for (int t = 1; t <= noOfTasks && lo < to; t++) {
+         final int hi = t == noOfTasks ? to : firstSegmentAt(segmentStarts[from] + t * SPLIT_SIZE, lo, to);
+         if (hi > lo) {
+            final int sliceFrom = lo;
+            tasks.add(ForkJoinTask.adapt(() -> writeSegmentRange(sliceFrom, hi)));
+            lo = hi;
+         }
+      }
+      ForkJoinTask.invokeAll(tasks);
+   }
+
+   /**
+    * First segment in [from, to] that starts at or after point.
+    */
+   private int firstSegmentAt(final int point,
+                              final int from,
+                              final int to) {
+      final int index = Arrays.binarySearch(segmentStarts, from, to + 1, point);
+      return index >= 0 ? index : -index - 1;
+   }
+
+   private void writeSegmentRange(final int from,
+                                  final int to) {
+      final double[] thetas = source.getXs();
+      final double[] rs = source.getYs();
+      for (int k = from; k < to; k++) {
+         writeSegment(thetas[k], rs[k], thetas[k + 1], rs[k + 1], segmentStarts[k]);
+      }
+   }
+
+   private int segmentSize(final double theta1,
+                           final double r1,
+                           final double theta2,
+                           final double r2) {
+      return pixelStep > 0
+         ? pixelSteps(theta1, r1, theta2, r2) + 1
+         : Interpolator.segmentSize(theta1, theta2, stepSize());
+   }
+
+   private int writeSegment(final double theta1,
+                            final double r1,
+                            final double theta2,
+                            final double r2,
+                            final int offset) {
+      return pixelStep > 0
+         ? Interpolator.interpolateSegmentEvenly(theta1, r1, theta2, r2, pixelSteps(theta1, r1, theta2, r2),
+            curve.getXs(), curve.getYs(), offset)
+         : Interpolator.interpolateSegment(theta1, r1, theta2, r2, stepSize(),
+            curve.getXs(), curve.getYs(), offset);
+   }
+
+   /**
+    * Number of steps that keep the on-screen distance between samples of the
+    * segment at about pixelStep. The on-screen length of the segment is
+    * estimated from the arc at the larger radius and the radial change.
+    */
+   private int pixelSteps(final double theta1,
+                          final double r1,
+                          final double theta2,
+                          final double r2) {
+      final double span = theta2 - theta1;
+      if (!(span > 0)) {
+         return 1;
+      }
+      final double spanRadians = radians ? span : Math.toRadians(span);
+      final double radius1 = radiusOffset + r1 * pixelsPerUnit;
+      final double radius2 = radiusOffset + r2 * pixelsPerUnit;
+      final double arc = Math.max(Math.abs(radius1), Math.abs(radius2)) * spanRadians;
+      final double length = Math.hypot(arc, radius2 - radius1);
+      return Math.max(1, (int) Math.ceil(length / pixelStep));
+   }
+
+   private void ensureSegmentCapacity(final int capacity) {
+      if (capacity > segmentStarts.length) {
+         segmentStarts = Arrays.copyOf(segmentStarts, Math.max(capacity, segmentStarts.length + (segmentStarts.length >> 1)));
+      }
+   }
+
+   private double stepSize() {
+      return radians ? Interpolator.RADIAN_STEP : Interpolator.DEGREE_STEP;
+   }
+}
@@ -0,0 +1,154 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.tools.Helper;
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+
+import java.util.Optional;
+
+/**
+ * Converts polar coordinates (theta, r) into screen coordinates of the plot.
+ * Theta is measured clockwise from 12 o'clock. r is scaled from
+ * [yLowerBound, yLowerBound + yRange] onto [offset, offset + range] pixels.
+ * Results are written straight into a caller supplied {@link PointBuffer}, so
+ * no objects are allocated per point.
+ * If the jdk.incubator.vector module is present at runtime the whole buffer
+ * is transformed with a SIMD kernel, see VectorTransform in src/vector/java.
+ */
+public final class PolarTransform {
+   private static final double TWO_PI = 2 * Math.PI;
+   private static final double DEGREES_PER_RADIAN = 180 / Math.PI;
+   private static final TransformKernel VECTOR_KERNEL = loadVectorKernel();
+   private static final boolean VECTOR_AVAILABLE = null != VECTOR_KERNEL;
+
+   private double xCenter;
+   private double yCenter;
+   private double yLowerBound;
+   private double yRange;
+   private double range;
+   private double offset;
+   private TrigTable trigTable = TrigTable.DEGREE;
+   private boolean vectorized = VECTOR_AVAILABLE;
+
+   public void set(final double xCenter,
+                   final double yCenter,
+                   final double yLowerBound,
+                   final double yRange,
+                   final double range,
+                   final double offset) {
+      this.xCenter = xCenter;
+      this.yCenter = yCenter;
+      this.yLowerBound = yLowerBound;
+      this.yRange = yRange;
+      this.range = range;
+      this.offset = offset;
+   }
+
+   /**
+    * Table used for angles on its grid, null to always use Math.sin/Math.cos.
+    */
+   public void setTrigTable(final TrigTable trigTable) {
+      this.trigTable = trigTable;
+   }
+
+   public TrigTable getTrigTable() { return trigTable; }
+
+   /**
+    * True if the jdk.incubator.vector module was added to this VM.
+    */
+   public static boolean isVectorAvailable() { return VECTOR_AVAILABLE; }
+
+   /**
+    * Uses the SIMD kernel when set to true, which is the default whenever it
+    * is available. The kernel does not use the trig table. Ignored if the
+    * vector module is not available.
+    */
+   public void setVectorized(final boolean vectorized) {
+      this.vectorized = vectorized && VECTOR_AVAILABLE;
+   }
+
+   public boolean isVectorized() { return vectorized; }
+
+   /**
+    * Transforms the (theta, r) pairs in source into target, replacing its content.
+    */
+   public void toScreen(final PointBuffer source,
+                        final boolean useRadians,
+                        final PointBuffer target) {
+      final int noOfPoints = source.getSize();
+      target.clear();
+      target.ensureCapacity(noOfPoints);
+      toScreen(source, useRadians, target, 0, noOfPoints);
+      target.setSize(noOfPoints);
+   }
+
+   /**
+    * Transforms the (theta, r) pairs [from, to) of source into the same
+    * indices of target, which has to be large enough already. Disjoint ranges
+    * of the same buffers can be transformed from different threads.
+    */
+   public void toScreen(final PointBuffer source,
+                        final boolean useRadians,
+                        final PointBuffer target,
+                        final int from,
+                        final int to) {
+      final double[] thetas = source.getXs();
+      final double[] rs = source.getYs();
+      final double[] xs = target.getXs();
+      final double[] ys = target.getYs();
+
+      if (vectorized) {
+         VECTOR_KERNEL.toScreen(thetas, rs, from, to, useRadians,
+            xCenter, yCenter, yLowerBound, yRange, range, offset, xs, ys);
+         return;
+      }
+
+      final TrigTable table = trigTable;
+      for (int i = from; i < to; i++) {
+         final double r = radius(rs[i]);
+         final double angle = normalize(thetas[i], useRadians);
+         final int index = null == table ? -1 : table.index(useRadians ? angle * DEGREES_PER_RADIAN : angle);
+         if (index >= 0) {
+            xs[i] = xCenter + table.sin(index) * r;
+            ys[i] = yCenter - table.cos(index) * r;
+         } else {
+            final double phi = useRadians ? angle : Math.toRadians(angle);
+            xs[i] = xCenter + Math.sin(phi) * r;
+            ys[i] = yCenter - Math.cos(phi) * r;
+         }
+      }
+   }
+
+   private double radius(final double r) {
+      return offset + ((r - yLowerBound) / yRange) * range;
+   }
+
+   /**
+    * The SIMD kernel, or null if the vector module is not in the boot layer.
+    * The module is not required by module-info, so this module is made to
+    * read it before the kernel is linked.
+    */
+   private static TransformKernel loadVectorKernel() {
+      final Optional<Module> vector = ModuleLayer.boot().findModule("jdk.incubator.vector");
+      if (vector.isEmpty()) {
+         return null;
+      }
+      try {
+         PolarTransform.class.getModule().addReads(vector.get());
+         return (TransformKernel) Class.forName(PolarTransform.class.getPackageName() + ".VectorTransform")
+            .getDeclaredConstructor()
+            .newInstance();
+      } catch (ReflectiveOperationException | LinkageError e) {
+         // kernel not packaged or not linkable, use the scalar loop
+         return null;
+      }
+   }
+
+   /**
+    * theta reduced to [0, 2pi] or [0, 360], in the unit of theta.
+    */
+   private static double normalize(final double theta, final boolean useRadians) {
+      return useRadians
+         ? Helper.clamp(0.0, TWO_PI, theta % TWO_PI)
+         : Helper.clamp(0.0, 360.0, theta % 360.0);
+   }
+}
@@ -0,0 +1,47 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+
+/**
+ * Screen geometry of one series in one frame. The buffers are reused from
+ * frame to frame and only grow when the series does.
+ */
+public final class SeriesGeometry {
+   private final PointBuffer points = new PointBuffer();
+   private final PointBuffer path = new PointBuffer();
+   private final PointBuffer decimated = new PointBuffer();
+   private PointBuffer outline = path;
+   private boolean wrap;
+
+   /**
+    * Screen positions of the series items, used for the symbols. Empty if
+    * symbols are not shown.
+    */
+   public PointBuffer getPoints() { return points; }
+
+   /**
+    * Screen positions of the interpolated curve.
+    */
+   public PointBuffer getPath() { return path; }
+
+   /**
+    * Screen positions of the decimated interpolated curve.
+    */
+   public PointBuffer getDecimated() { return decimated; }
+
+   /**
+    * The buffer to draw, either getPath() or getDecimated(). Empty if the
+    * series has no items.
+    */
+   public PointBuffer getOutline() { return outline; }
+
+   /**
+    * True if the outline is closed, joining the last and the first item.
+    */
+   public boolean isWrap() { return wrap; }
+
+   void setOutline(final PointBuffer outline, final boolean wrap) {
+      this.outline = outline;
+      this.wrap = wrap;
+   }
+}
@@ -0,0 +1,104 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.Decimation;
+import com.chainstaysoftware.polarplot.series.XYSeries;
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+
+/**
+ * Immutable copy of the series state needed to build its screen geometry,
+ * taken on the FX thread so the geometry can be built on any thread.
+ * Only the items that changed since a given version are copied. A full
+ * snapshot carries every item, a partial one the items [from, from + n) in
+ * current indices, to be spliced over the values the consumer already holds
+ * for the base version.
+ */
+public final class SeriesSnapshot {
+   private final XYSeries<?> series;
+   private final long version;
+   private final long baseVersion;
+   private final int noOfItems;
+   private final int from;
+   private final PointBuffer values;
+   private final boolean radians;
+   private final boolean wrap;
+   private final boolean showPoints;
+   private final Decimation decimation;
+
+   private SeriesSnapshot(final XYSeries<?> series,
+                          final long baseVersion,
+                          final int from,
+                          final PointBuffer values,
+                          final boolean radians,
+                          final boolean wrap) {
+      this.series = series;
+      this.version = series.getVersion();
+      this.baseVersion = baseVersion;
+      this.noOfItems = series.getNoOfItems();
+      this.from = from;
+      this.values = values;
+      this.radians = radians;
+      this.wrap = wrap;
+      this.showPoints = series.getSymbolsVisible();
+      this.decimation = series.getDecimation();
+   }
+
+   /**
+    * Snapshot of the items of series that changed since sinceVersion, or of all
+    * items if that is not known or sinceVersion is negative. Must be called on
+    * the thread that owns the series.
+    */
+   public static SeriesSnapshot take(final XYSeries<?> series,
+                                     final long sinceVersion,
+                                     final boolean radians,
+                                     final boolean wrap) {
+      final int[] range = new int[2];
+      if (sinceVersion >= 0 && series.getChangedRange(sinceVersion, range)) {
+         final PointBuffer values = new PointBuffer(range[1] - range[0]);
+         series.copyValuesTo(range[0], range[1], values);
+         return new SeriesSnapshot(series, sinceVersion, range[0], values, radians, wrap);
+      }
+
+      final PointBuffer values = new PointBuffer(series.getNoOfItems());
+      series.copyValuesTo(values);
+      return new SeriesSnapshot(series, -1, 0, values, radians, wrap);
+   }
+
+   /**
+    * The series the snapshot was taken from. Only used as a key, the series
+    * itself must not be read off its own thread.
+    */
+   public XYSeries<?> getSeries() { return series; }
+
+   public long getVersion() { return version; }
+
+   /**
+    * Version the values are relative to, -1 for a full snapshot.
+    */
+   public long getBaseVersion() { return baseVersion; }
+
+   public boolean isFull() { return baseVersion < 0; }
+
+   public int getNoOfItems() { return noOfItems; }
+
+   /**
+    * Index of the first copied item.
+    */
+   public int getFrom() { return from; }
+
+   /**
+    * Index after the last copied item.
+    */
+   public int getTo() { return from + values.getSize(); }
+
+   public double getTheta(final int index) { return values.getX(index - from); }
+
+   public double getR(final int index) { return values.getY(index - from); }
+
+   public boolean isRadians() { return radians; }
+
+   public boolean isWrap() { return wrap; }
+
+   public boolean isShowPoints() { return showPoints; }
+
+   public Decimation getDecimation() { return decimation; }
+}
@@ -0,0 +1,23 @@
+package com.chainstaysoftware.polarplot.transform;
+
+/**
+ * Bulk version of the PolarTransform loop, for kernels that are compiled
+ * outside of the main source set (see VectorTransform in src/vector/java).
+ * Transforms the (theta, r) pairs [from, to) into the same indices of xs and
+ * ys with the same results as the scalar loop of PolarTransform.
+ */
+interface TransformKernel {
+   void toScreen(double[] thetas,
+                 double[] rs,
+                 int from,
+                 int to,
+                 boolean useRadians,
+                 double xCenter,
+                 double yCenter,
+                 double yLowerBound,
+                 double yRange,
+                 double range,
+                 double offset,
+                 double[] xs,
+                 double[] ys);
+}
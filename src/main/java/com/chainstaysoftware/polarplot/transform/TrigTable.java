@@ -0,0 +1,62 @@
+package com.chainstaysoftware.polarplot.transform;
+
+/**
+ * Immutable sin/cos table on a fixed angle grid over [0, 360] degrees.
+ * Interpolated series put most vertices on the 1 degree grid, those can be
+ * transformed with two array reads instead of Math.sin/Math.cos. Angles off
+ * the grid are reported by index(...) and left to Math.sin/Math.cos.
+ * Instances are shared and safe to use from any thread.
+ */
+public final class TrigTable {
+   /**
+    * 1 degree grid, matches the output of Interpolator for whole degree input.
+    */
+   public static final TrigTable DEGREE = new TrigTable(1);
+
+   // distance from the grid, in grid steps, still considered on the grid
+   private static final double TOLERANCE = 1e-9;
+
+   private final double stepsPerDegree;
+   private final double[] sin;
+   private final double[] cos;
+
+   private TrigTable(final int stepsPerDegree) {
+      this.stepsPerDegree = stepsPerDegree;
+      final int size = 360 * stepsPerDegree + 1;
+      sin = new double[size];
+      cos = new double[size];
+      for (int i = 0; i < size; i++) {
+         final double phi = Math.toRadians((double) i / stepsPerDegree);
+         sin[i] = Math.sin(phi);
+         cos[i] = Math.cos(phi);
+      }
+   }
+
+   /**
+    * 0.1 degree grid for data recorded with sub-degree resolution. Built on
+    * first use.
+    */
+   public static TrigTable tenthDegree() {
+      return TenthDegree.TABLE;
+   }
+
+   /**
+    * Index of degrees in the table, or -1 if degrees is not on the grid or
+    * outside of [0, 360].
+    */
+   public int index(final double degrees) {
+      final double steps = degrees * stepsPerDegree;
+      final double index = Math.rint(steps);
+      return Math.abs(steps - index) <= TOLERANCE && index >= 0 && index < sin.length
+         ? (int) index
+         : -1;
+   }
+
+   public double sin(final int index) { return sin[index]; }
+
+   public double cos(final int index) { return cos[index]; }
+
+   private static final class TenthDegree {
+      private static final TrigTable TABLE = new TrigTable(10);
+   }
+}
@@ -0,0 +1,26 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.data.XYChartItem;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class PolarSeriesTest {
+   @Test
+   void testItemsCannotBeModified() {
+      final var series = new PolarSeries<XYChartItem>(new double[] { 0, 90 }, new double[] { 1, 2 }, ChartType.INTERPOLATE_POLAR);
+
+      Assertions.assertThatThrownBy(() -> series.getItems().add(new XYChartItem(45, 5)))
+         .isInstanceOf(UnsupportedOperationException.class);
+      Assertions.assertThatThrownBy(() -> series.setItems(List.of(new XYChartItem(45, 5))))
+         .isInstanceOf(UnsupportedOperationException.class);
+      Assertions.assertThat(series.getItems())
+         .isEmpty();
+      Assertions.assertThat(series.getNoOfItems())
+         .isEqualTo(2);
+      Assertions.assertThat(series.getTheta(1))
+         .isEqualTo(90.0);
+   }
+}
@@ -0,0 +1,87 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RingValuesTest {
+   @Test
+   void testFullRingEvictsOldest() {
+      final var values = new RingValues(3);
+
+      for (int i = 1; i <= 5; i++) {
+         values.add(i, 10 * i);
+      }
+
+      Assertions.assertThat(values.size())
+         .isEqualTo(3);
+      Assertions.assertThat(values.getX(0))
+         .isEqualTo(3.0);
+      Assertions.assertThat(values.getY(2))
+         .isEqualTo(50.0);
+      Assertions.assertThat(values.getSumX())
+         .isEqualTo(12.0);
+   }
+
+   @Test
+   void testExtremesFollowTheWindow() {
+      final var values = new RingValues(3);
+      final double[] xs = { 5, 1, 4, 3, 2 };
+
+      for (int i = 0; i < 4; i++) {
+         values.add(xs[i], xs[i]);
+      }
+      Assertions.assertThat(values.getMinX())
+         .isEqualTo(1.0);
+      Assertions.assertThat(values.getMaxX())
+         .isEqualTo(4.0);
+
+      values.add(xs[4], xs[4]);
+      Assertions.assertThat(values.getMinX())
+         .isEqualTo(2.0);
+      Assertions.assertThat(values.getMaxY())
+         .isEqualTo(4.0);
+   }
+
+   @Test
+   void testCopyJoinsBothSegments() {
+      final var values = new RingValues(4);
+      for (int i = 0; i < 6; i++) {
+         values.add(i, -i);
+      }
+      final var target = new PointBuffer(1);
+
+      values.copyTo(1, 4, target);
+
+      Assertions.assertThat(target.getSize())
+         .isEqualTo(3);
+      Assertions.assertThat(new double[] { target.getX(0), target.getX(1), target.getX(2) })
+         .containsExactly(3.0, 4.0, 5.0);
+      Assertions.assertThat(target.getY(2))
+         .isEqualTo(-5.0);
+   }
+
+   @Test
+   void testGrowingAWrappedRingKeepsOrderAndExtremes() {
+      final var values = new RingValues(4);
+      final double[] xs = { 9, 1, 7, 3, 5, 4 };
+      for (double x : xs) {
+         values.add(x, x);
+      }
+
+      values.ensureCapacity(6);
+      values.add(2, 2);
+      values.add(8, 8);
+
+      Assertions.assertThat(values.size())
+         .isEqualTo(6);
+      Assertions.assertThat(values.getX(0))
+         .isEqualTo(7.0);
+      Assertions.assertThat(values.getX(5))
+         .isEqualTo(8.0);
+      Assertions.assertThat(values.getMinX())
+         .isEqualTo(2.0);
+      Assertions.assertThat(values.getMaxY())
+         .isEqualTo(8.0);
+   }
+}
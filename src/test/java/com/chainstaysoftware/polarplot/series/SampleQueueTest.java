@@ -0,0 +1,56 @@
+package com.chainstaysoftware.polarplot.series;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class SampleQueueTest {
+   @Test
+   void testFullQueueDropsAndCounts() {
+      final var queue = new SampleQueue(4, null);
+
+      for (int i = 0; i < 6; i++) {
+         queue.offer(i, i);
+      }
+
+      Assertions.assertThat(queue.getDepth())
+         .isEqualTo(4);
+      Assertions.assertThat(queue.getDroppedCount())
+         .isEqualTo(2);
+   }
+
+   @Test
+   void testDrainKeepsOrder() {
+      final var queue = new SampleQueue(4, null);
+      final List<Double> thetas = new ArrayList<>();
+      queue.offer(1, 10);
+      queue.offer(2, 20);
+      queue.drain((theta, r) -> thetas.add(theta));
+      queue.offer(3, 30);
+
+      final int drained = queue.drain((theta, r) -> thetas.add(theta));
+
+      Assertions.assertThat(drained)
+         .isEqualTo(1);
+      Assertions.assertThat(thetas)
+         .containsExactly(1.0, 2.0, 3.0);
+      Assertions.assertThat(queue.isEmpty())
+         .isTrue();
+   }
+
+   @Test
+   void testSignalsOncePerDrain() {
+      final int[] signals = { 0 };
+      final var queue = new SampleQueue(8, () -> signals[0]++);
+
+      queue.offer(1, 1);
+      queue.offer(2, 2);
+      queue.drain((theta, r) -> { });
+      queue.offer(3, 3);
+
+      Assertions.assertThat(signals[0])
+         .isEqualTo(2);
+   }
+}
@@ -0,0 +1,208 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.data.XYChartItem;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The publishers deliver on the submitting thread, frames are run by calling
+ * beforeFrame() the way XYPane does on every pulse.
+ */
+class SeriesSubscriberTest {
+   private static final int BATCH_SIZE = 4;
+
+   @Test
+   void testRequestsBatchSizeUpFront() {
+      final var series = new TrackedSeries();
+      try (var publisher = publisher()) {
+         publisher.subscribe(new SeriesSubscriber<>(series, BATCH_SIZE));
+
+         Assertions.assertThat(publisher.estimateMinimumDemand())
+            .isEqualTo(BATCH_SIZE);
+         Assertions.assertThat(series.frameListeners)
+            .hasSize(1);
+      }
+   }
+
+   @Test
+   void testEveryFrameRequestsAsManyAsItAppended() {
+      final var series = new TrackedSeries();
+      final var frameRequests = new AtomicInteger();
+      series.setOnFrameRequest(frameRequests::incrementAndGet);
+      try (var publisher = publisher()) {
+         publisher.subscribe(new SeriesSubscriber<>(series, BATCH_SIZE));
+
+         for (int i = 0; i < 3; i++) {
+            publisher.submit(new XYChartItem(i, i));
+         }
+
+         Assertions.assertThat(publisher.estimateMinimumDemand())
+            .isEqualTo(BATCH_SIZE - 3);
+         // only the first item of a frame asks for it
+         Assertions.assertThat(frameRequests.get())
+            .isEqualTo(1);
+
+         series.beforeFrame();
+
+         Assertions.assertThat(series.getNoOfItems())
+            .isEqualTo(3);
+         Assertions.assertThat(publisher.estimateMinimumDemand())
+            .isEqualTo(BATCH_SIZE);
+      }
+   }
+
+   @Test
+   void testAtMostBatchSizeItemsPerFrame() {
+      final var series = new TrackedSeries();
+      try (var publisher = publisher()) {
+         publisher.subscribe(new SeriesSubscriber<>(series, BATCH_SIZE));
+
+         for (int i = 0; i < 10; i++) {
+            publisher.submit(new XYChartItem(i, i));
+         }
+
+         // the rest waits in the publisher until a frame asks for it
+         Assertions.assertThat(publisher.estimateMaximumLag())
+            .isEqualTo(10 - BATCH_SIZE);
+
+         series.beforeFrame();
+         Assertions.assertThat(series.getNoOfItems())
+            .isEqualTo(4);
+         series.beforeFrame();
+         Assertions.assertThat(series.getNoOfItems())
+            .isEqualTo(8);
+         series.beforeFrame();
+         Assertions.assertThat(series.getNoOfItems())
+            .isEqualTo(10);
+         Assertions.assertThat(series.getTheta(9))
+            .isEqualTo(9.0);
+      }
+   }
+
+   @Test
+   void testCompleteAppendsLastBatchAndDetaches() {
+      final var series = new TrackedSeries();
+      final var frameRequests = new AtomicInteger();
+      series.setOnFrameRequest(frameRequests::incrementAndGet);
+      final var publisher = publisher();
+      publisher.subscribe(new SeriesSubscriber<>(series, BATCH_SIZE));
+
+      publisher.submit(new XYChartItem(1, 1));
+      publisher.submit(new XYChartItem(2, 2));
+      publisher.close();
+
+      Assertions.assertThat(frameRequests.get())
+         .isEqualTo(2);
+
+      series.beforeFrame();
+
+      Assertions.assertThat(series.getNoOfItems())
+         .isEqualTo(2);
+      Assertions.assertThat(series.frameListeners)
+         .isEmpty();
+   }
+
+   @Test
+   void testCancelDetaches() {
+      final var series = new TrackedSeries();
+      try (var publisher = publisher()) {
+         final var subscriber = new SeriesSubscriber<>(series, BATCH_SIZE);
+         publisher.subscribe(subscriber);
+         publisher.submit(new XYChartItem(1, 1));
+
+         subscriber.cancel();
+         publisher.submit(new XYChartItem(2, 2));
+         series.beforeFrame();
+
+         Assertions.assertThat(subscriber.isCancelled())
+            .isTrue();
+         Assertions.assertThat(series.frameListeners)
+            .isEmpty();
+         Assertions.assertThat(publisher.getNumberOfSubscribers())
+            .isEqualTo(0);
+         Assertions.assertThat(series.getNoOfItems())
+            .isEqualTo(0);
+      }
+   }
+
+   @Test
+   void testCancelBeforeSubscribeNeverAttaches() {
+      final var series = new TrackedSeries();
+      try (var publisher = publisher()) {
+         final var subscriber = new SeriesSubscriber<>(series, BATCH_SIZE);
+         subscriber.cancel();
+
+         publisher.subscribe(subscriber);
+         publisher.submit(new XYChartItem(1, 1));
+         series.beforeFrame();
+
+         Assertions.assertThat(series.frameListeners)
+            .isEmpty();
+         Assertions.assertThat(publisher.getNumberOfSubscribers())
+            .isEqualTo(0);
+         Assertions.assertThat(series.getNoOfItems())
+            .isEqualTo(0);
+      }
+   }
+
+   @Test
+   void testCancelWhileSubscribingDetachesOnNextFrame() {
+      final var series = new TrackedSeries();
+      try (var publisher = publisher()) {
+         final var subscriber = new SeriesSubscriber<>(series, BATCH_SIZE);
+         // cancel() lands just as onSubscribe registers the frame listener
+         series.beforeAdd = subscriber::cancel;
+
+         publisher.subscribe(subscriber);
+         series.beforeFrame();
+
+         Assertions.assertThat(subscriber.isCancelled())
+            .isTrue();
+         Assertions.assertThat(series.frameListeners)
+            .isEmpty();
+         Assertions.assertThat(publisher.getNumberOfSubscribers())
+            .isEqualTo(0);
+      }
+   }
+
+   private static SubmissionPublisher<XYChartItem> publisher() {
+      return new SubmissionPublisher<>(Runnable::run, 16);
+   }
+
+   /**
+    * Keeps track of the frame listeners registered with it.
+    */
+   private static final class TrackedSeries extends XYSeries<XYChartItem> {
+      private final Set<Runnable> frameListeners = new HashSet<>();
+      // run once before the next frame listener is added
+      private Runnable beforeAdd;
+
+      TrackedSeries() {
+         super(new ArrayList<>(), ChartType.INTERPOLATE_POLAR);
+      }
+
+      @Override
+      public void addFrameListener(final Runnable listener) {
+         if (null != beforeAdd) {
+            final Runnable action = beforeAdd;
+            beforeAdd = null;
+            action.run();
+         }
+         frameListeners.add(listener);
+         super.addFrameListener(listener);
+      }
+
+      @Override
+      public void removeFrameListener(final Runnable listener) {
+         frameListeners.remove(listener);
+         super.removeFrameListener(listener);
+      }
+   }
+}
@@ -0,0 +1,56 @@
+package com.chainstaysoftware.polarplot.series;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SeriesValuesTest {
+   @Test
+   void testInsertUpdatesStatistics() {
+      final var values = new SeriesValues();
+      final double[] xs = { 10, 30, 20 };
+      final double[] ys = { 5, 1, 7 };
+
+      values.insert(0, 3, i -> xs[i], i -> ys[i]);
+
+      Assertions.assertThat(values.getMinX())
+         .isEqualTo(10.0);
+      Assertions.assertThat(values.getMaxX())
+         .isEqualTo(30.0);
+      Assertions.assertThat(values.getMinY())
+         .isEqualTo(1.0);
+      Assertions.assertThat(values.getMaxY())
+         .isEqualTo(7.0);
+      Assertions.assertThat(values.getSumX())
+         .isEqualTo(60.0);
+   }
+
+   @Test
+   void testRemovingAnExtremeRescans() {
+      final var values = new SeriesValues();
+      final double[] xs = { 10, 30, 20 };
+      values.setAll(3, i -> xs[i], i -> xs[i]);
+
+      values.remove(1, 1);
+
+      Assertions.assertThat(values.getMaxX())
+         .isEqualTo(20.0);
+      Assertions.assertThat(values.getSumX())
+         .isEqualTo(30.0);
+   }
+
+   @Test
+   void testLoweringAnExtremeRescans() {
+      final var values = new SeriesValues();
+      final double[] xs = { 10, 30, 20 };
+      values.setAll(3, i -> xs[i], i -> xs[i]);
+
+      values.set(1, 0, 0);
+
+      Assertions.assertThat(values.getMaxX())
+         .isEqualTo(20.0);
+      Assertions.assertThat(values.getMinX())
+         .isEqualTo(0.0);
+      Assertions.assertThat(values.getX(1))
+         .isEqualTo(0.0);
+   }
+}
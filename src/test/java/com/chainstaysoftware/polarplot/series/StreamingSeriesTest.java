@@ -0,0 +1,35 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.data.XYChartItem;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class StreamingSeriesTest {
+   @Test
+   void testItemsCannotBeModified() {
+      final var series = new StreamingSeries<XYChartItem>(4, ChartType.INTERPOLATE_POLAR);
+      series.append(10, 1);
+
+      Assertions.assertThatThrownBy(() -> series.getItems().add(new XYChartItem(45, 5)))
+         .isInstanceOf(UnsupportedOperationException.class);
+      Assertions.assertThatThrownBy(() -> series.setItems(List.of(new XYChartItem(45, 5))))
+         .isInstanceOf(UnsupportedOperationException.class);
+      Assertions.assertThat(series.getItems())
+         .isEmpty();
+   }
+
+   @Test
+   void testAppendAllReachesTheRing() {
+      final var series = new StreamingSeries<XYChartItem>(4, ChartType.INTERPOLATE_POLAR);
+
+      series.appendAll(List.of(new XYChartItem(10, 1), new XYChartItem(20, 2)));
+
+      Assertions.assertThat(series.getNoOfItems())
+         .isEqualTo(2);
+      Assertions.assertThat(series.getTheta(1))
+         .isEqualTo(20.0);
+   }
+}
@@ -0,0 +1,180 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.data.XYChartItem;
+import com.chainstaysoftware.polarplot.event.SeriesEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class WindowedSeriesTest {
+   private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+   @Test
+   void testExpiredSamplesLeaveInOneEvent() {
+      final var clock = new TestClock();
+      final var series = series(Duration.ofSeconds(10), clock);
+      for (int i = 0; i < 5; i++) {
+         series.append(i, i, START.plusSeconds(i));
+      }
+      final List<SeriesEvent> events = new ArrayList<>();
+      series.setOnSeriesEvent(events::add);
+
+      clock.set(START.plusMillis(13_500));
+      series.beforeFrame();
+
+      Assertions.assertThat(events)
+         .hasSize(1);
+      Assertions.assertThat(series.getNoOfItems())
+         .isEqualTo(1);
+      Assertions.assertThat(series.getTheta(0))
+         .isEqualTo(4.0);
+      Assertions.assertThat(series.getMinY())
+         .isEqualTo(4.0);
+   }
+
+   @Test
+   void testNoFrameRequestedUntilTheOldestSampleExpires() {
+      final var clock = new TestClock();
+      final var series = series(Duration.ofSeconds(10), clock);
+      final var frameRequests = new AtomicInteger();
+      series.setOnFrameRequest(frameRequests::incrementAndGet);
+      series.append(1, 1, START);
+      series.append(2, 2, START.plusSeconds(3));
+
+      series.beforeFrame();
+
+      Assertions.assertThat(frameRequests.get())
+         .isEqualTo(0);
+      Assertions.assertThat(series.getNextExpiry())
+         .isEqualTo(START.plusSeconds(10));
+
+      clock.set(START.plusSeconds(11));
+      series.beforeFrame();
+
+      Assertions.assertThat(series.getNoOfItems())
+         .isEqualTo(1);
+      Assertions.assertThat(series.getNextExpiry())
+         .isEqualTo(START.plusSeconds(13));
+   }
+
+   @Test
+   void testOutOfOrderTimestampIsClamped() {
+      final var clock = new TestClock();
+      final var series = series(Duration.ofSeconds(10), clock);
+
+      series.append(1, 1, START.plusSeconds(5));
+      series.append(2, 2, START.plusSeconds(2));
+      clock.set(START.plusSeconds(3));
+      series.append(3, 3);
+
+      Assertions.assertThat(series.getTimestamp(1))
+         .isEqualTo(START.plusSeconds(5));
+      Assertions.assertThat(series.getTimestamp(2))
+         .isEqualTo(START.plusSeconds(5));
+
+      clock.set(START.plusMillis(15_001));
+      series.beforeFrame();
+
+      Assertions.assertThat(series.getNoOfItems())
+         .isEqualTo(0);
+      Assertions.assertThat(series.getNextExpiry())
+         .isNull();
+   }
+
+   @Test
+   void testShrinkingTheWindowExpiresSamples() {
+      final var clock = new TestClock();
+      final var series = series(Duration.ofSeconds(20), clock);
+      for (int i = 0; i < 10; i++) {
+         series.append(i, i, START.plusSeconds(i));
+      }
+      clock.set(START.plusSeconds(10));
+      series.beforeFrame();
+      final var frameRequests = new AtomicInteger();
+      series.setOnFrameRequest(frameRequests::incrementAndGet);
+      final List<SeriesEvent> events = new ArrayList<>();
+      series.setOnSeriesEvent(events::add);
+
+      series.setWindow(Duration.ofMillis(5_500));
+
+      Assertions.assertThat(frameRequests.get())
+         .isEqualTo(1);
+
+      series.beforeFrame();
+
+      Assertions.assertThat(events)
+         .hasSize(1);
+      Assertions.assertThat(series.getNoOfItems())
+         .isEqualTo(5);
+      Assertions.assertThat(series.getTheta(0))
+         .isEqualTo(5.0);
+   }
+
+   @Test
+   void testTimestampsGrowWhileWrapped() {
+      final var clock = new TestClock();
+      final var series = series(Duration.ofSeconds(1_000), clock);
+      for (int i = 0; i < 1_000; i++) {
+         series.append(i, i, START.plusSeconds(i));
+      }
+      // expire the first 600, so the next appends wrap around the ring
+      clock.set(START.plusMillis(1_599_500));
+      series.beforeFrame();
+      for (int i = 1_000; i < 2_000; i++) {
+         series.append(i, i, START.plusSeconds(i));
+      }
+
+      Assertions.assertThat(series.getNoOfItems())
+         .isEqualTo(1_400);
+      for (int i = 0; i < 1_400; i++) {
+         Assertions.assertThat(series.getTimestamp(i))
+            .isEqualTo(START.plusSeconds(600 + i));
+         Assertions.assertThat(series.getTheta(i))
+            .isEqualTo(600.0 + i);
+      }
+
+      clock.set(START.plusMillis(2_899_500));
+      series.beforeFrame();
+
+      Assertions.assertThat(series.getNoOfItems())
+         .isEqualTo(100);
+      Assertions.assertThat(series.getTimestamp(0))
+         .isEqualTo(START.plusSeconds(1_900));
+   }
+
+   private static WindowedSeries<XYChartItem> series(final Duration window,
+                                                     final Clock clock) {
+      final var series = new WindowedSeries<XYChartItem>(window, ChartType.INTERPOLATE_POLAR);
+      series.setClock(clock);
+      return series;
+   }
+
+   /**
+    * Clock that only moves when told to.
+    */
+   private static final class TestClock extends Clock {
+      private Instant instant = START;
+
+      void set(final Instant instant) {
+         this.instant = instant;
+      }
+
+      @Override
+      public Instant instant() { return instant; }
+
+      @Override
+      public ZoneId getZone() { return ZoneOffset.UTC; }
+
+      @Override
+      public Clock withZone(final ZoneId zone) { return this; }
+   }
+}
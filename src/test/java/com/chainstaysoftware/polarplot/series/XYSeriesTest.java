@@ -0,0 +1,146 @@
+package com.chainstaysoftware.polarplot.series;
+
+import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.data.XYChartItem;
+import com.chainstaysoftware.polarplot.event.EventType;
+import com.chainstaysoftware.polarplot.event.SeriesEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class XYSeriesTest {
+   @Test
+   void testAppendsInBatchFireOneEvent() {
+      final var series = series(3);
+      final List<SeriesEvent> events = new ArrayList<>();
+      series.setOnSeriesEvent(events::add);
+
+      series.batch(s -> {
+         for (int i = 0; i < 5; i++) {
+            series.getItems().add(new XYChartItem(100 + i, i));
+         }
+      });
+
+      Assertions.assertThat(events)
+         .hasSize(1);
+      Assertions.assertThat(events.get(0).getEventType())
+         .isEqualTo(EventType.UPDATE);
+      Assertions.assertThat(events.get(0).getFrom())
+         .isEqualTo(3);
+      Assertions.assertThat(events.get(0).getTo())
+         .isEqualTo(8);
+      Assertions.assertThat(series.getTheta(7))
+         .isEqualTo(104.0);
+   }
+
+   @Test
+   void testItemChangesInBatchFireOneEvent() {
+      final var series = series(5);
+      final List<SeriesEvent> events = new ArrayList<>();
+      series.setOnSeriesEvent(events::add);
+
+      series.batch(s -> {
+         series.getItems().get(1).setX(15);
+         series.getItems().get(3).setY(42);
+      });
+
+      Assertions.assertThat(events)
+         .hasSize(1);
+      Assertions.assertThat(events.get(0).getFrom())
+         .isEqualTo(1);
+      Assertions.assertThat(events.get(0).getTo())
+         .isEqualTo(4);
+      Assertions.assertThat(series.getTheta(1))
+         .isEqualTo(15.0);
+      Assertions.assertThat(series.getR(3))
+         .isEqualTo(42.0);
+      Assertions.assertThat(series.getMaxY())
+         .isEqualTo(42.0);
+   }
+
+   @Test
+   void testChangedRangeOfMixedBatchMatchesDiff() {
+      final var series = series(10);
+      final double[] before = thetas(series);
+      final long version = series.getVersion();
+
+      series.batch(s -> {
+         series.getItems().remove(2);
+         series.getItems().add(5, new XYChartItem(55, 1));
+         series.getItems().remove(7);
+         series.getItems().add(3, new XYChartItem(25, 1));
+      });
+
+      final double[] after = thetas(series);
+      int prefix = 0;
+      while (prefix < Math.min(before.length, after.length) && before[prefix] == after[prefix]) {
+         prefix++;
+      }
+      int suffix = 0;
+      while (suffix < Math.min(before.length, after.length) - prefix
+             && before[before.length - 1 - suffix] == after[after.length - 1 - suffix]) {
+         suffix++;
+      }
+      final int[] range = new int[2];
+
+      Assertions.assertThat(series.getVersion())
+         .isEqualTo(version + 1);
+      Assertions.assertThat(series.getChangedRange(version, range))
+         .isTrue();
+      Assertions.assertThat(range)
+         .containsExactly(prefix, after.length - suffix);
+   }
+
+   @Test
+   void testNestedBatchesFireOnce() {
+      final var series = series(2);
+      final List<SeriesEvent> events = new ArrayList<>();
+      series.setOnSeriesEvent(events::add);
+
+      series.beginUpdate();
+      series.getItems().add(new XYChartItem(20, 1));
+      series.batch(s -> series.getItems().add(new XYChartItem(30, 1)));
+
+      Assertions.assertThat(series.isUpdating())
+         .isTrue();
+      Assertions.assertThat(events)
+         .isEmpty();
+
+      series.endUpdate();
+
+      Assertions.assertThat(series.isUpdating())
+         .isFalse();
+      Assertions.assertThat(events)
+         .hasSize(1);
+      Assertions.assertThat(events.get(0).getFrom())
+         .isEqualTo(2);
+      Assertions.assertThat(events.get(0).getTo())
+         .isEqualTo(4);
+   }
+
+   @Test
+   void testEndUpdateWithoutBeginUpdateThrows() {
+      final var series = series(1);
+
+      Assertions.assertThatThrownBy(series::endUpdate)
+         .isInstanceOf(IllegalStateException.class);
+   }
+
+   private static XYSeries<XYChartItem> series(final int noOfItems) {
+      final List<XYChartItem> items = new ArrayList<>();
+      for (int i = 0; i < noOfItems; i++) {
+         items.add(new XYChartItem(10 * i, 1));
+      }
+      return new XYSeries<>(items, ChartType.INTERPOLATE_POLAR);
+   }
+
+   private static double[] thetas(final XYSeries<XYChartItem> series) {
+      final double[] thetas = new double[series.getNoOfItems()];
+      for (int i = 0; i < thetas.length; i++) {
+         thetas[i] = series.getTheta(i);
+      }
+      return thetas;
+   }
+}
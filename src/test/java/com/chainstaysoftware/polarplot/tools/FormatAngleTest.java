@@ -24,4 +24,32 @@ class FormatAngleTest {
       Assertions.assertThat(FormatAngle.format(Math.toRadians(330), true))
          .isEqualTo("11\u03C0/6");
    }
-}
\ No newline at end of file
+
+   @Test
+   void testFormatDegreesRounds() {
+      Assertions.assertThat(FormatAngle.format(44.5, false))
+         .isEqualTo("45");
+      Assertions.assertThat(FormatAngle.format(44.49, false))
+         .isEqualTo("44");
+      Assertions.assertThat(FormatAngle.format(360.0, false))
+         .isEqualTo("360");
+      Assertions.assertThat(FormatAngle.format(400.0, false))
+         .isEqualTo("400");
+      Assertions.assertThat(FormatAngle.format(-15.0, false))
+         .isEqualTo("-15");
+   }
+
+   @Test
+   void testFormatRadiansWithinEpsilon() {
+      Assertions.assertThat(FormatAngle.format(Math.toRadians(15) + .0005, true))
+         .isEqualTo("\u03C0/12");
+      Assertions.assertThat(FormatAngle.format(Math.toRadians(15) + .002, true))
+         .isEqualTo("0.26");
+      Assertions.assertThat(FormatAngle.format(-.0005, true))
+         .isEqualTo("0");
+      Assertions.assertThat(FormatAngle.format(2 * Math.PI, true))
+         .isEqualTo("0");
+      Assertions.assertThat(FormatAngle.format(Math.toRadians(375), true))
+         .isEqualTo("6.54");
+   }
+}
@@ -0,0 +1,104 @@
+package com.chainstaysoftware.polarplot.tools;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+class InterpolatorTest {
+   @Test
+   void testInterpolateDegrees() {
+      final var points = new PointBuffer();
+      points.add(10.0, 1.0);
+      points.add(13.0, 4.0);
+      final var target = new PointBuffer();
+
+      Interpolator.interpolate(points, false, target);
+
+      Assertions.assertThat(target.getSize())
+         .isEqualTo(4);
+      Assertions.assertThat(Arrays.copyOf(target.getXs(), 4))
+         .containsExactly(10.0, 11.0, 12.0, 13.0);
+      Assertions.assertThat(Arrays.copyOf(target.getYs(), 4))
+         .containsExactly(1.0, 2.0, 3.0, 4.0);
+   }
+
+   @Test
+   void testInterpolateWrap() {
+      final var points = new PointBuffer();
+      points.add(0.0, 1.0);
+      points.add(350.0, 1.0);
+      final var target = new PointBuffer();
+
+      Interpolator.interpolate(points, true, target);
+
+      // 0..350 plus 350..360
+      Assertions.assertThat(target.getSize())
+         .isEqualTo(351 + 11);
+      Assertions.assertThat(target.getX(target.getSize() - 1))
+         .isEqualTo(360.0);
+   }
+
+   @Test
+   void testInterpolateRadians() {
+      final var points = new PointBuffer();
+      points.add(0.0, 0.0);
+      // 29 degrees in radians is a rounding error more than 29 radian steps
+      points.add(Math.toRadians(29), 29.0);
+      final var target = new PointBuffer();
+
+      Interpolator.interpolateRadians(points, false, target);
+
+      // 0, 1 .. 28 degrees and the end point, no near-duplicate of 29 degrees
+      Assertions.assertThat(target.getSize())
+         .isEqualTo(30);
+      Assertions.assertThat(target.getX(28))
+         .isCloseTo(Math.toRadians(28), Assertions.within(1e-12));
+      for (int i = 0; i < target.getSize(); i++) {
+         Assertions.assertThat(target.getY(i))
+            .isCloseTo(Math.toDegrees(target.getX(i)), Assertions.within(1e-9));
+      }
+   }
+
+   @Test
+   void testSizeMatchesInterpolate() {
+      final double[] thetas = {5.0, 5.0, 42.5, 41.0, 300.0};
+      final double[] rs = {1.0, 2.0, 3.0, 4.0, 5.0};
+      final int size = Interpolator.size(thetas, thetas.length, true, 360.0, Interpolator.DEGREE_STEP);
+      final double[] targetThetas = new double[size];
+      final double[] targetRs = new double[size];
+
+      Assertions.assertThat(Interpolator.interpolate(thetas, rs, thetas.length, true, 360.0,
+         Interpolator.DEGREE_STEP, targetThetas, targetRs))
+         .isEqualTo(size);
+   }
+
+   @Test
+   void testBufferIsReused() {
+      final var points = new PointBuffer();
+      points.add(0.0, 1.0);
+      points.add(180.0, 1.0);
+      final var target = new PointBuffer();
+
+      Interpolator.interpolate(points, true, target);
+      final double[] xs = target.getXs();
+      Interpolator.interpolate(points, false, target);
+
+      Assertions.assertThat(target.getXs())
+         .isSameAs(xs);
+   }
+
+   @Test
+   void testSinglePoint() {
+      final var points = new PointBuffer();
+      points.add(45.0, 2.0);
+      final var target = new PointBuffer();
+
+      Interpolator.interpolate(points, true, target);
+
+      Assertions.assertThat(target.getSize())
+         .isEqualTo(1);
+      Assertions.assertThat(target.getX(0))
+         .isEqualTo(45.0);
+   }
+}
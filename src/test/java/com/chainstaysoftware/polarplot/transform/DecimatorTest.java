@@ -0,0 +1,67 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+class DecimatorTest {
+   @Test
+   void testMinMaxKeepsEnvelopeOfEachBin() {
+      // one bin, vertices at distance 3, 1, 5, 2 from the center
+      final var screen = new PointBuffer();
+      screen.add(3, 0);
+      screen.add(1, 0);
+      screen.add(5, 0);
+      screen.add(2, 0);
+      final var thetas = new double[] { 0.1, 0.2, 0.3, 0.4 };
+      final var target = new PointBuffer();
+
+      Decimator.minMax(screen, thetas, 1, 0, 0, target);
+
+      Assertions.assertThat(Arrays.copyOf(target.getXs(), target.getSize()))
+         .containsExactly(3.0, 1.0, 5.0, 2.0);
+   }
+
+   @Test
+   void testMinMaxDropsInnerVertices() {
+      final var screen = new PointBuffer();
+      final var thetas = new double[100];
+      for (int i = 0; i < 100; i++) {
+         screen.add(10 + (i % 10), 0);
+         thetas[i] = i;
+      }
+      final var target = new PointBuffer();
+
+      // ten bins of ten vertices, min and max coincide with first and last of each bin
+      Decimator.minMax(screen, thetas, 10, 0, 0, target);
+
+      Assertions.assertThat(target.getSize())
+         .isEqualTo(20);
+      Assertions.assertThat(target.getX(0))
+         .isEqualTo(10.0);
+      Assertions.assertThat(target.getX(1))
+         .isEqualTo(19.0);
+   }
+
+   @Test
+   void testLttbKeepsEndsAndThreshold() {
+      final var screen = new PointBuffer();
+      for (int i = 0; i < 1000; i++) {
+         screen.add(i, i == 500 ? 100 : 0);
+      }
+      final var target = new PointBuffer();
+
+      Decimator.lttb(screen, 10, target);
+
+      Assertions.assertThat(target.getSize())
+         .isEqualTo(10);
+      Assertions.assertThat(target.getX(0))
+         .isEqualTo(0.0);
+      Assertions.assertThat(target.getX(9))
+         .isEqualTo(999.0);
+      Assertions.assertThat(Arrays.copyOf(target.getYs(), 10))
+         .contains(100.0);
+   }
+}
@@ -0,0 +1,91 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.data.XYChartItem;
+import com.chainstaysoftware.polarplot.series.PolarSeries;
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+class GeometryPreparerTest {
+   private static final FrameSnapshot.Layout LAYOUT = new FrameSnapshot.Layout(300, 300, 0, 10, 250, 20);
+
+   @Test
+   void testParallelMatchesSequentialForManySeries() {
+      final var random = new Random(3);
+      final List<PolarSeries<XYChartItem>> series = new ArrayList<>();
+      for (int i = 0; i < 24; i++) {
+         series.add(series(random, 5 + random.nextInt(50)));
+      }
+
+      assertParallelMatchesSequential(series, 0);
+      assertParallelMatchesSequential(series, 2);
+   }
+
+   @Test
+   void testParallelMatchesSequentialForSlicedSeries() {
+      // more points than InterpolatedCurve.SPLIT_SIZE, so the curve and the
+      // transform are both cut into slices
+      final var series = series(new Random(5), 3 * InterpolatedCurve.SPLIT_SIZE + 123);
+
+      assertParallelMatchesSequential(List.of(series), 0);
+      assertParallelMatchesSequential(List.of(series), 2);
+   }
+
+   private static PolarSeries<XYChartItem> series(final Random random,
+                                                  final int noOfItems) {
+      final var thetas = new double[noOfItems];
+      final var rs = new double[noOfItems];
+      for (int i = 0; i < noOfItems; i++) {
+         thetas[i] = 720.0 * i / noOfItems + random.nextDouble();
+         rs[i] = 10 * random.nextDouble();
+      }
+      final var series = new PolarSeries<XYChartItem>(thetas, rs, ChartType.INTERPOLATE_POLAR);
+      series.setSymbolsVisible(true);
+      return series;
+   }
+
+   private static void assertParallelMatchesSequential(final List<PolarSeries<XYChartItem>> series,
+                                                       final double pixelStep) {
+      final List<SeriesSnapshot> snapshots = new ArrayList<>();
+      for (PolarSeries<XYChartItem> s : series) {
+         snapshots.add(SeriesSnapshot.take(s, -1, false, true));
+      }
+      final var frame = new FrameSnapshot(LAYOUT, pixelStep, TrigTable.DEGREE, false, snapshots);
+
+      final var sequential = new GeometryPreparer();
+      final var expected = new FrameGeometry();
+      sequential.prepare(frame, expected);
+
+      final var pool = new ForkJoinPool(4);
+      try {
+         final var parallel = new GeometryPreparer();
+         parallel.setPool(pool);
+         final var actual = new FrameGeometry();
+         parallel.prepare(frame, actual);
+
+         for (PolarSeries<XYChartItem> s : series) {
+            assertSameBuffer(actual.get(s).getPoints(), expected.get(s).getPoints());
+            assertSameBuffer(actual.get(s).getPath(), expected.get(s).getPath());
+         }
+      } finally {
+         pool.shutdown();
+      }
+   }
+
+   private static void assertSameBuffer(final PointBuffer actual,
+                                        final PointBuffer expected) {
+      Assertions.assertThat(actual.getSize())
+         .isEqualTo(expected.getSize());
+      Assertions.assertThat(Arrays.copyOf(actual.getXs(), actual.getSize()))
+         .containsExactly(Arrays.copyOf(expected.getXs(), expected.getSize()));
+      Assertions.assertThat(Arrays.copyOf(actual.getYs(), actual.getSize()))
+         .containsExactly(Arrays.copyOf(expected.getYs(), expected.getSize()));
+   }
+}
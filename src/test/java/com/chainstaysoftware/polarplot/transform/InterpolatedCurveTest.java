@@ -0,0 +1,122 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.ChartType;
+import com.chainstaysoftware.polarplot.data.XYChartItem;
+import com.chainstaysoftware.polarplot.series.PolarSeries;
+import com.chainstaysoftware.polarplot.tools.Interpolator;
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+class InterpolatedCurveTest {
+   @Test
+   void testUnchangedSeriesIsReused() {
+      final var series = series(0, 90, 180, 270);
+      final var curve = new InterpolatedCurve();
+
+      Assertions.assertThat(curve.update(series, false, true))
+         .isEqualTo(InterpolatedCurve.Update.FULL);
+      Assertions.assertThat(curve.update(series, false, true))
+         .isEqualTo(InterpolatedCurve.Update.NONE);
+   }
+
+   @Test
+   void testChangedItemOnlyUpdatesNeighbouringSegments() {
+      final var series = series(0, 90, 180, 270);
+      final var curve = new InterpolatedCurve();
+      curve.update(series, false, true);
+
+      series.set(1, 100, 5);
+
+      Assertions.assertThat(curve.update(series, false, true))
+         .isEqualTo(InterpolatedCurve.Update.PARTIAL);
+      assertMatchesFullInterpolation(series, curve, true);
+   }
+
+   @Test
+   void testWrapChangeKeepsSegments() {
+      final var series = series(0, 90, 180, 270);
+      final var curve = new InterpolatedCurve();
+      curve.update(series, false, true);
+
+      Assertions.assertThat(curve.update(series, false, false))
+         .isEqualTo(InterpolatedCurve.Update.PARTIAL);
+      assertMatchesFullInterpolation(series, curve, false);
+   }
+
+   @Test
+   void testReplacedDataRebuilds() {
+      final var series = series(0, 90, 180, 270);
+      final var curve = new InterpolatedCurve();
+      curve.update(series, false, true);
+
+      series.setData(new double[] { 10, 20, 30 }, new double[] { 1, 2, 3 });
+
+      Assertions.assertThat(curve.update(series, false, true))
+         .isEqualTo(InterpolatedCurve.Update.FULL);
+      assertMatchesFullInterpolation(series, curve, true);
+   }
+
+   @Test
+   void testSnapshotOnlyCarriesChangedItems() {
+      final var series = series(0, 90, 180, 270);
+      final var curve = new InterpolatedCurve();
+      curve.update(SeriesSnapshot.take(series, -1, false, true));
+      final long version = curve.getVersion();
+
+      series.set(2, 200, 3);
+      final var snapshot = SeriesSnapshot.take(series, version, false, true);
+
+      Assertions.assertThat(snapshot.getFrom())
+         .isEqualTo(2);
+      Assertions.assertThat(snapshot.getTo())
+         .isEqualTo(3);
+      Assertions.assertThat(curve.update(snapshot))
+         .isEqualTo(InterpolatedCurve.Update.PARTIAL);
+      assertMatchesFullInterpolation(series, curve, true);
+   }
+
+   @Test
+   void testPixelStepFollowsScreenSize() {
+      final var series = series(0, 90);
+      final var small = new InterpolatedCurve();
+      small.setPixelStep(2, 0, 10);
+      small.update(series, false, false);
+      final var large = new InterpolatedCurve();
+      large.setPixelStep(2, 0, 1000);
+      large.update(series, false, false);
+
+      // quarter circle of radius 10 px (~15.7 px) and 1000 px (~1571 px) in 2 px steps
+      Assertions.assertThat(small.getCurve().getSize())
+         .isEqualTo(8 + 1);
+      Assertions.assertThat(large.getCurve().getSize())
+         .isEqualTo(786 + 1);
+      Assertions.assertThat(large.getCurve().getX(large.getCurve().getSize() - 1))
+         .isEqualTo(90.0);
+   }
+
+   private static PolarSeries<XYChartItem> series(final double... thetas) {
+      final var rs = new double[thetas.length];
+      Arrays.fill(rs, 1);
+      return new PolarSeries<>(thetas, rs, ChartType.INTERPOLATE_POLAR);
+   }
+
+   private static void assertMatchesFullInterpolation(final PolarSeries<XYChartItem> series,
+                                                      final InterpolatedCurve curve,
+                                                      final boolean wrap) {
+      final var source = new PointBuffer();
+      series.copyValuesTo(source);
+      final var expected = new PointBuffer();
+      Interpolator.interpolate(source, wrap, expected);
+
+      final var actual = curve.getCurve();
+      Assertions.assertThat(actual.getSize())
+         .isEqualTo(expected.getSize());
+      Assertions.assertThat(Arrays.copyOf(actual.getXs(), actual.getSize()))
+         .containsExactly(Arrays.copyOf(expected.getXs(), expected.getSize()));
+      Assertions.assertThat(Arrays.copyOf(actual.getYs(), actual.getSize()))
+         .containsExactly(Arrays.copyOf(expected.getYs(), expected.getSize()));
+   }
+}
@@ -0,0 +1,60 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class PolarTransformTest {
+   @Test
+   void testTableMatchesMathInDegrees() {
+      final var source = new PointBuffer();
+      final var random = new Random(42);
+      // whole degrees, tenths, arbitrary angles, negative and beyond 360
+      for (int i = -720; i <= 720; i++) {
+         source.add(i, 1 + random.nextDouble());
+         source.add(i / 10.0, 1 + random.nextDouble());
+         source.add(720 * (random.nextDouble() - 0.5), 1 + random.nextDouble());
+      }
+
+      assertTableMatchesMath(source, false, TrigTable.DEGREE);
+      assertTableMatchesMath(source, false, TrigTable.tenthDegree());
+   }
+
+   @Test
+   void testTableMatchesMathInRadians() {
+      final var source = new PointBuffer();
+      final var random = new Random(42);
+      for (int i = -720; i <= 720; i++) {
+         source.add(Math.toRadians(i), 1 + random.nextDouble());
+         source.add(4 * Math.PI * (random.nextDouble() - 0.5), 1 + random.nextDouble());
+      }
+
+      assertTableMatchesMath(source, true, TrigTable.DEGREE);
+   }
+
+   private static void assertTableMatchesMath(final PointBuffer source,
+                                              final boolean useRadians,
+                                              final TrigTable table) {
+      final var transform = new PolarTransform();
+      transform.set(100, 100, 0, 2, 80, 10);
+      transform.setVectorized(false);
+      final var expected = new PointBuffer();
+      final var actual = new PointBuffer();
+
+      transform.setTrigTable(null);
+      transform.toScreen(source, useRadians, expected);
+      transform.setTrigTable(table);
+      transform.toScreen(source, useRadians, actual);
+
+      Assertions.assertThat(actual.getSize())
+         .isEqualTo(source.getSize());
+      for (int i = 0; i < source.getSize(); i++) {
+         Assertions.assertThat(actual.getX(i))
+            .isCloseTo(expected.getX(i), Assertions.within(1e-9));
+         Assertions.assertThat(actual.getY(i))
+            .isCloseTo(expected.getY(i), Assertions.within(1e-9));
+      }
+   }
+}
@@ -0,0 +1,65 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TrigTableTest {
+   @Test
+   void testIndexCoversBothEnds() {
+      final var table = TrigTable.DEGREE;
+
+      Assertions.assertThat(table.index(0))
+         .isEqualTo(0);
+      Assertions.assertThat(table.index(360))
+         .isEqualTo(360);
+      Assertions.assertThat(table.sin(table.index(360)))
+         .isCloseTo(0.0, Assertions.within(1e-15));
+      Assertions.assertThat(table.cos(table.index(360)))
+         .isEqualTo(1.0);
+   }
+
+   @Test
+   void testIndexRejectsAnglesOutsideOfTheTable() {
+      final var table = TrigTable.DEGREE;
+
+      Assertions.assertThat(table.index(-1))
+         .isEqualTo(-1);
+      Assertions.assertThat(table.index(361))
+         .isEqualTo(-1);
+      Assertions.assertThat(table.index(-1e-12))
+         .isEqualTo(0);
+      Assertions.assertThat(table.index(-1e-6))
+         .isEqualTo(-1);
+   }
+
+   @Test
+   void testIndexToleratesRoundingOnly() {
+      final var table = TrigTable.DEGREE;
+
+      Assertions.assertThat(table.index(45 + 1e-10))
+         .isEqualTo(45);
+      Assertions.assertThat(table.index(45 - 1e-10))
+         .isEqualTo(45);
+      Assertions.assertThat(table.index(45 + 1e-6))
+         .isEqualTo(-1);
+      Assertions.assertThat(table.index(45.5))
+         .isEqualTo(-1);
+   }
+
+   @Test
+   void testTenthDegreeGrid() {
+      final var table = TrigTable.tenthDegree();
+
+      Assertions.assertThat(table)
+         .isSameAs(TrigTable.tenthDegree());
+      // 12.3 * 10 is 123.00000000000001
+      Assertions.assertThat(table.index(12.3))
+         .isEqualTo(123);
+      Assertions.assertThat(table.index(12.34))
+         .isEqualTo(-1);
+      Assertions.assertThat(table.index(360))
+         .isEqualTo(3600);
+      Assertions.assertThat(table.sin(table.index(30)))
+         .isCloseTo(0.5, Assertions.within(1e-15));
+   }
+}
@@ -0,0 +1,84 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import com.chainstaysoftware.polarplot.tools.PointBuffer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Needs --add-modules jdk.incubator.vector, which the test task passes.
+ */
+class VectorTransformTest {
+   @Test
+   void testMatchesScalarInDegrees() {
+      final var source = new PointBuffer();
+      final var random = new Random(7);
+      // an odd count, so the scalar tail runs after the vector lanes
+      for (int i = 0; i < 1003; i++) {
+         source.add(1440 * (random.nextDouble() - 0.5), 10 * random.nextDouble());
+      }
+      source.add(0, 1);
+      source.add(360, 1);
+      source.add(-360, 1);
+      source.add(725, 1);
+
+      assertVectorMatchesScalar(source, false);
+   }
+
+   @Test
+   void testMatchesScalarInRadians() {
+      final var source = new PointBuffer();
+      final var random = new Random(7);
+      for (int i = 0; i < 1001; i++) {
+         source.add(8 * Math.PI * (random.nextDouble() - 0.5), 10 * random.nextDouble());
+      }
+      source.add(-0.5, 1);
+      source.add(2 * Math.PI, 1);
+      source.add(7, 1);
+
+      assertVectorMatchesScalar(source, true);
+   }
+
+   @Test
+   void testMatchesScalarForPartialRanges() {
+      final var source = new PointBuffer();
+      for (int i = 0; i < 40; i++) {
+         source.add(37.5 * i - 400, i);
+      }
+
+      // shorter than any vector, then unaligned start and end
+      assertVectorMatchesScalar(source, false, 5, 8);
+      assertVectorMatchesScalar(source, false, 3, 37);
+   }
+
+   private static void assertVectorMatchesScalar(final PointBuffer source,
+                                                 final boolean useRadians) {
+      assertVectorMatchesScalar(source, useRadians, 0, source.getSize());
+   }
+
+   private static void assertVectorMatchesScalar(final PointBuffer source,
+                                                 final boolean useRadians,
+                                                 final int from,
+                                                 final int to) {
+      Assumptions.assumeTrue(PolarTransform.isVectorAvailable());
+      final var transform = new PolarTransform();
+      transform.set(200, 150, -1, 12, 140, 8);
+      transform.setTrigTable(null);
+      final var scalar = new PointBuffer(source.getSize());
+      final var vector = new PointBuffer(source.getSize());
+
+      transform.setVectorized(false);
+      transform.toScreen(source, useRadians, scalar, from, to);
+      transform.setVectorized(true);
+      transform.toScreen(source, useRadians, vector, from, to);
+
+      for (int i = from; i < to; i++) {
+         Assertions.assertThat(vector.getXs()[i])
+            .isCloseTo(scalar.getXs()[i], Assertions.within(1e-9));
+         Assertions.assertThat(vector.getYs()[i])
+            .isCloseTo(scalar.getYs()[i], Assertions.within(1e-9));
+      }
+   }
+}
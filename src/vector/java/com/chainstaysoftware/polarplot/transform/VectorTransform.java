@@ -0,0 +1,65 @@
+package com.chainstaysoftware.polarplot.transform;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD version of the PolarTransform loop, written against the incubating
+ * jdk.incubator.vector API. It lives in its own source set, so only this
+ * compilation sees the incubator module (and warns about it), and is packaged
+ * with the main classes. PolarTransform loads it reflectively if the module is
+ * in the boot layer (--add-modules jdk.incubator.vector).
+ * Angles are reduced with theta - trunc(theta / period) * period, which matches
+ * theta % period for the angles seen in practice.
+ */
+final class VectorTransform implements TransformKernel {
+   private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+   private static final double TWO_PI = 2 * Math.PI;
+   private static final double DEGREES_TO_RADIANS = Math.PI / 180;
+
+   @Override
+   public void toScreen(final double[] thetas,
+                       final double[] rs,
+                       final int from,
+                       final int to,
+                       final boolean useRadians,
+                       final double xCenter,
+                       final double yCenter,
+                       final double yLowerBound,
+                       final double yRange,
+                       final double range,
+                       final double offset,
+                       final double[] xs,
+                       final double[] ys) {
+      final double period = useRadians ? TWO_PI : 360.0;
+      final double toRadians = useRadians ? 1.0 : DEGREES_TO_RADIANS;
+      final double scale = range / yRange;
+      final int bound = from + SPECIES.loopBound(to - from);
+
+      int i = from;
+      for (; i < bound; i += SPECIES.length()) {
+         final DoubleVector theta = DoubleVector.fromArray(SPECIES, thetas, i);
+         final DoubleVector turns = (DoubleVector) theta.div(period)
+            .convert(VectorOperators.D2L, 0)
+            .convert(VectorOperators.L2D, 0);
+         final DoubleVector phi = theta.sub(turns.mul(period))
+            .max(0.0)
+            .min(period)
+            .mul(toRadians);
+         final DoubleVector r = DoubleVector.fromArray(SPECIES, rs, i)
+            .sub(yLowerBound)
+            .mul(scale)
+            .add(offset);
+         phi.lanewise(VectorOperators.SIN).mul(r).add(xCenter).intoArray(xs, i);
+         phi.lanewise(VectorOperators.COS).mul(r).neg().add(yCenter).intoArray(ys, i);
+      }
+
+      for (; i < to; i++) {
+         final double phi = Math.min(period, Math.max(0.0, thetas[i] % period)) * toRadians;
+         final double r = offset + (rs[i] - yLowerBound) * scale;
+         xs[i] = xCenter + Math.sin(phi) * r;
+         ys[i] = yCenter - Math.cos(phi) * r;
+      }
+   }
+}